@@ -42,6 +42,26 @@ public class PoolOptionsConverter {
             obj.setMaxLifetime(((Number)member.getValue()).longValue());
           }
           break;
+        case "multiplexedConnections":
+          if (member.getValue() instanceof Number) {
+            obj.setMultiplexedConnections(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "eventLoopAffinity":
+          if (member.getValue() instanceof Boolean) {
+            obj.setEventLoopAffinity((Boolean)member.getValue());
+          }
+          break;
+        case "minIdle":
+          if (member.getValue() instanceof Number) {
+            obj.setMinIdle(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxLifetimeJitter":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxLifetimeJitter(((Number)member.getValue()).longValue());
+          }
+          break;
       }
     }
   }
@@ -59,5 +79,9 @@ public class PoolOptionsConverter {
     json.put("maxWaiting", obj.getMaxWaiting());
     json.put("recycleTimeout", obj.getRecycleTimeout());
     json.put("maxLifetime", obj.getMaxLifetime());
+    json.put("multiplexedConnections", obj.getMultiplexedConnections());
+    json.put("eventLoopAffinity", obj.isEventLoopAffinity());
+    json.put("minIdle", obj.getMinIdle());
+    json.put("maxLifetimeJitter", obj.getMaxLifetimeJitter());
   }
 }
@@ -52,6 +52,31 @@ public class RedisConnectOptionsConverter {
             obj.setMaxWaitingHandlers(((Number)member.getValue()).intValue());
           }
           break;
+        case "autoPipelining":
+          if (member.getValue() instanceof Boolean) {
+            obj.setAutoPipelining((Boolean)member.getValue());
+          }
+          break;
+        case "autoPipeliningDelay":
+          if (member.getValue() instanceof Number) {
+            obj.setAutoPipeliningDelay(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "autoPipeliningMaxBytes":
+          if (member.getValue() instanceof Number) {
+            obj.setAutoPipeliningMaxBytes(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxParkedSends":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxParkedSends(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "adaptiveInFlightLimit":
+          if (member.getValue() instanceof Boolean) {
+            obj.setAdaptiveInFlightLimit((Boolean)member.getValue());
+          }
+          break;
       }
     }
   }
@@ -78,5 +103,10 @@ public class RedisConnectOptionsConverter {
       json.put("endpoints", array);
     }
     json.put("maxWaitingHandlers", obj.getMaxWaitingHandlers());
+    json.put("autoPipelining", obj.isAutoPipelining());
+    json.put("autoPipeliningDelay", obj.getAutoPipeliningDelay());
+    json.put("autoPipeliningMaxBytes", obj.getAutoPipeliningMaxBytes());
+    json.put("maxParkedSends", obj.getMaxParkedSends());
+    json.put("adaptiveInFlightLimit", obj.isAdaptiveInFlightLimit());
   }
 }
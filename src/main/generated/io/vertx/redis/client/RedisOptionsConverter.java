@@ -97,6 +97,26 @@ public class RedisOptionsConverter {
             obj.setPoolMaxLifetime(((Number)member.getValue()).longValue());
           }
           break;
+        case "multiplexedConnections":
+          if (member.getValue() instanceof Number) {
+            obj.setMultiplexedConnections(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "poolEventLoopAffinity":
+          if (member.getValue() instanceof Boolean) {
+            obj.setPoolEventLoopAffinity((Boolean)member.getValue());
+          }
+          break;
+        case "minPoolIdle":
+          if (member.getValue() instanceof Number) {
+            obj.setMinPoolIdle(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "poolMaxLifetimeJitter":
+          if (member.getValue() instanceof Number) {
+            obj.setPoolMaxLifetimeJitter(((Number)member.getValue()).longValue());
+          }
+          break;
         case "user":
           if (member.getValue() instanceof String) {
             obj.setUser((String)member.getValue());
@@ -137,6 +157,31 @@ public class RedisOptionsConverter {
             obj.setAutoFailover((Boolean)member.getValue());
           }
           break;
+        case "autoPipelining":
+          if (member.getValue() instanceof Boolean) {
+            obj.setAutoPipelining((Boolean)member.getValue());
+          }
+          break;
+        case "autoPipeliningDelay":
+          if (member.getValue() instanceof Number) {
+            obj.setAutoPipeliningDelay(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "autoPipeliningMaxBytes":
+          if (member.getValue() instanceof Number) {
+            obj.setAutoPipeliningMaxBytes(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxParkedSends":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxParkedSends(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "adaptiveInFlightLimit":
+          if (member.getValue() instanceof Boolean) {
+            obj.setAdaptiveInFlightLimit((Boolean)member.getValue());
+          }
+          break;
       }
     }
   }
@@ -182,6 +227,10 @@ public class RedisOptionsConverter {
     json.put("maxPoolWaiting", obj.getMaxPoolWaiting());
     json.put("poolRecycleTimeout", obj.getPoolRecycleTimeout());
     json.put("poolMaxLifetime", obj.getPoolMaxLifetime());
+    json.put("multiplexedConnections", obj.getMultiplexedConnections());
+    json.put("poolEventLoopAffinity", obj.isPoolEventLoopAffinity());
+    json.put("minPoolIdle", obj.getMinPoolIdle());
+    json.put("poolMaxLifetimeJitter", obj.getPoolMaxLifetimeJitter());
     if (obj.getUser() != null) {
       json.put("user", obj.getUser());
     }
@@ -200,5 +249,10 @@ public class RedisOptionsConverter {
     }
     json.put("topologyCacheTTL", obj.getTopologyCacheTTL());
     json.put("autoFailover", obj.isAutoFailover());
+    json.put("autoPipelining", obj.isAutoPipelining());
+    json.put("autoPipeliningDelay", obj.getAutoPipeliningDelay());
+    json.put("autoPipeliningMaxBytes", obj.getAutoPipeliningMaxBytes());
+    json.put("maxParkedSends", obj.getMaxParkedSends());
+    json.put("adaptiveInFlightLimit", obj.isAdaptiveInFlightLimit());
   }
 }
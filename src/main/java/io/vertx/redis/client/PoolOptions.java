@@ -31,6 +31,10 @@ public class PoolOptions {
   private int maxWaiting;
   private int recycleTimeout;
   private long maxLifetime;
+  private int multiplexedConnections;
+  private boolean eventLoopAffinity;
+  private int minIdle;
+  private long maxLifetimeJitter;
 
   public PoolOptions() {
     name = UUID.randomUUID().toString();
@@ -48,6 +52,10 @@ public class PoolOptions {
     this.maxSize = other.maxSize;
     this.maxWaiting = other.maxWaiting;
     this.recycleTimeout = other.recycleTimeout;
+    this.multiplexedConnections = other.multiplexedConnections;
+    this.eventLoopAffinity = other.eventLoopAffinity;
+    this.minIdle = other.minIdle;
+    this.maxLifetimeJitter = other.maxLifetimeJitter;
   }
 
   public PoolOptions(JsonObject json) {
@@ -219,6 +227,9 @@ public class PoolOptions {
    * As opposed to {@linkplain #setRecycleTimeout(int) recycle timeout}, this property
    * does not take into account when the connection was last used. If the connection
    * is too old, it is evicted even if it was used very recently.
+   * <p>
+   * A connection is replaced before it is evicted: once it is too old, a new connection is opened in
+   * the background and the old connection is only evicted once the new one is ready to be used.
    *
    * @param maxLifetime the maximum lifetime
    * @return fluent self
@@ -228,6 +239,118 @@ public class PoolOptions {
     return this;
   }
 
+  /**
+   * Get the number of connections shared by the connection-less commands ({@link Redis#send(Request)} and
+   * {@link Redis#batch(java.util.List)}).
+   * <p>
+   * By default, the number is 0 and each command leases a connection from the pool.
+   *
+   * @return the number of multiplexed connections
+   */
+  public int getMultiplexedConnections() {
+    return multiplexedConnections;
+  }
+
+  /**
+   * Set the number of connections shared by the connection-less commands ({@link Redis#send(Request)} and
+   * {@link Redis#batch(java.util.List)}). These connections are leased from the pool once and kept, the commands
+   * are pipelined over them in turn instead of leasing a connection for each command, so the number should
+   * stay well below the maximum pool size. It must be lower than the maximum pool size, otherwise the client
+   * cannot be created.
+   * <p>
+   * Commands that block or change the state of the connection (for example {@code BLPOP} or {@code SELECT}) still
+   * lease a connection of their own.
+   * <p>
+   * By default, the number is 0 and each command leases a connection from the pool.
+   *
+   * @param multiplexedConnections the number of multiplexed connections
+   * @return fluent self
+   */
+  public PoolOptions setMultiplexedConnections(int multiplexedConnections) {
+    this.multiplexedConnections = multiplexedConnections;
+    return this;
+  }
+
+  /**
+   * Get whether the connections of the pool are partitioned by event loop.
+   * <p>
+   * By default, the pool hands out any available connection.
+   *
+   * @return whether the connections are partitioned by event loop
+   */
+  public boolean isEventLoopAffinity() {
+    return eventLoopAffinity;
+  }
+
+  /**
+   * Set whether the connections of the pool are partitioned by event loop. A connection is then preferably handed
+   * out to callers running on the event loop it is bound to, so its replies are not handed over to another
+   * event loop. When none of them is available, a new one is created on the event loop of the caller, and
+   * connections of other event loops are only used once the pool is full.
+   * <p>
+   * By default, the pool hands out any available connection.
+   *
+   * @param eventLoopAffinity whether the connections are partitioned by event loop
+   * @return fluent self
+   */
+  public PoolOptions setEventLoopAffinity(boolean eventLoopAffinity) {
+    this.eventLoopAffinity = eventLoopAffinity;
+    return this;
+  }
+
+  /**
+   * Get the minimum number of connections the pool keeps open, even when they are not used.
+   * <p>
+   * By default, the minimum is 0 and connections are only opened on demand.
+   *
+   * @return the minimum number of connections
+   */
+  public int getMinIdle() {
+    return minIdle;
+  }
+
+  /**
+   * Set the minimum number of connections the pool keeps open, even when they are not used. These connections
+   * are opened as soon as the client is created (see {@link Redis#warmUp()}), and connections that are evicted are
+   * replenished in the background during connection pool {@linkplain #setCleanerInterval(int) cleaning}, so commands
+   * do not wait for a connection to be established.
+   * <p>
+   * By default, the minimum is 0 and connections are only opened on demand.
+   *
+   * @param minIdle the minimum number of connections
+   * @return fluent self
+   */
+  public PoolOptions setMinIdle(int minIdle) {
+    this.minIdle = minIdle;
+    return this;
+  }
+
+  /**
+   * Get the jitter of the {@linkplain #getMaxLifetime() maximum lifetime} of the connections.
+   * <p>
+   * The value is in milliseconds. By default, the jitter is 0.
+   *
+   * @return the jitter of the maximum lifetime
+   */
+  public long getMaxLifetimeJitter() {
+    return maxLifetimeJitter;
+  }
+
+  /**
+   * Set the jitter of the {@linkplain #setMaxLifetime(long) maximum lifetime} of the connections. The lifetime
+   * of each connection is shortened by a random duration up to the jitter, so the connections opened together
+   * are not all replaced at once.
+   * <p>
+   * The value is in milliseconds. By default, the jitter is 0.
+   *
+   * @param maxLifetimeJitter the jitter of the maximum lifetime
+   * @return fluent self
+   */
+  public PoolOptions setMaxLifetimeJitter(long maxLifetimeJitter) {
+    this.maxLifetimeJitter = maxLifetimeJitter;
+    return this;
+  }
+
   /**
    * Converts this object to JSON notation.
    *
@@ -164,6 +164,17 @@ public interface Redis {
    */
   Future<RedisConnection> connect();
 
+  /**
+   * Get the warm-up of the client. When a minimum number of idle connections is configured
+   * ({@link RedisOptions#setMinPoolIdle(int)}), these connections are opened as soon as the client is created,
+   * the returned future completes once they are open. Otherwise, the returned future is already completed.
+   *
+   * @return a future completed once the client is warmed up
+   */
+  default Future<Void> warmUp() {
+    return Future.succeededFuture();
+  }
+
   /**
    * Closes the client and terminates any connection.
    */
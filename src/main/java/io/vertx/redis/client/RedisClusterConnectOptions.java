@@ -174,6 +174,31 @@ public class RedisClusterConnectOptions extends RedisConnectOptions {
     return (RedisClusterConnectOptions) super.setMaxWaitingHandlers(maxWaitingHandlers);
   }
 
+  @Override
+  public RedisClusterConnectOptions setAutoPipelining(boolean autoPipelining) {
+    return (RedisClusterConnectOptions) super.setAutoPipelining(autoPipelining);
+  }
+
+  @Override
+  public RedisClusterConnectOptions setAutoPipeliningDelay(long autoPipeliningDelay) {
+    return (RedisClusterConnectOptions) super.setAutoPipeliningDelay(autoPipeliningDelay);
+  }
+
+  @Override
+  public RedisClusterConnectOptions setAutoPipeliningMaxBytes(int autoPipeliningMaxBytes) {
+    return (RedisClusterConnectOptions) super.setAutoPipeliningMaxBytes(autoPipeliningMaxBytes);
+  }
+
+  @Override
+  public RedisClusterConnectOptions setMaxParkedSends(int maxParkedSends) {
+    return (RedisClusterConnectOptions) super.setMaxParkedSends(maxParkedSends);
+  }
+
+  @Override
+  public RedisClusterConnectOptions setAdaptiveInFlightLimit(boolean adaptiveInFlightLimit) {
+    return (RedisClusterConnectOptions) super.setAdaptiveInFlightLimit(adaptiveInFlightLimit);
+  }
+
   /**
    * Converts this object to JSON notation.
    *
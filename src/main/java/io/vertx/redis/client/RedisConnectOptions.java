@@ -34,11 +34,17 @@ public abstract class RedisConnectOptions {
   private boolean protocolNegotiation;
   private ProtocolVersion preferredProtocolVersion;
   private int maxWaitingHandlers;
+  private boolean autoPipelining;
+  private long autoPipeliningDelay;
+  private int autoPipeliningMaxBytes;
+  private int maxParkedSends;
+  private boolean adaptiveInFlightLimit;
 
   public RedisConnectOptions() {
     maxNestedArrays = 32;
     protocolNegotiation = true;
     maxWaitingHandlers = 2048;
+    autoPipeliningMaxBytes = 65536;
   }
 
   public RedisConnectOptions(RedisOptions options) {
@@ -50,6 +56,11 @@ public abstract class RedisConnectOptions {
     setProtocolNegotiation(options.isProtocolNegotiation());
     setPreferredProtocolVersion(options.getPreferredProtocolVersion());
     setMaxWaitingHandlers(options.getMaxWaitingHandlers());
+    setAutoPipelining(options.isAutoPipelining());
+    setAutoPipeliningDelay(options.getAutoPipeliningDelay());
+    setAutoPipeliningMaxBytes(options.getAutoPipeliningMaxBytes());
+    setMaxParkedSends(options.getMaxParkedSends());
+    setAdaptiveInFlightLimit(options.isAdaptiveInFlightLimit());
   }
 
   public RedisConnectOptions(RedisConnectOptions other) {
@@ -61,6 +72,11 @@ public abstract class RedisConnectOptions {
     setProtocolNegotiation(other.isProtocolNegotiation());
     setPreferredProtocolVersion(other.getPreferredProtocolVersion());
     setMaxWaitingHandlers(other.getMaxWaitingHandlers());
+    setAutoPipelining(other.isAutoPipelining());
+    setAutoPipeliningDelay(other.getAutoPipeliningDelay());
+    setAutoPipeliningMaxBytes(other.getAutoPipeliningMaxBytes());
+    setMaxParkedSends(other.getMaxParkedSends());
+    setAdaptiveInFlightLimit(other.isAdaptiveInFlightLimit());
   }
 
   public RedisConnectOptions(JsonObject json) {
@@ -275,6 +291,126 @@ public abstract class RedisConnectOptions {
     return this;
   }
 
+  /**
+   * Whether the commands sent on a connection are coalesced into a single write. When enabled, the encoded
+   * commands are accumulated and written (and flushed) together, at the end of the current event loop turn or
+   * after the configured {@link #getAutoPipeliningDelay() delay}, or as soon as the
+   * {@link #getAutoPipeliningMaxBytes() byte budget} is reached.
+   *
+   * @return whether the writes are coalesced
+   */
+  public boolean isAutoPipelining() {
+    return autoPipelining;
+  }
+
+  /**
+   * Whether the commands sent on a connection are coalesced into a single write. When enabled, the encoded
+   * commands are accumulated and written (and flushed) together, reducing the number of system calls under high
+   * concurrency. The default is {@code false}.
+   *
+   * @param autoPipelining {@code true} to coalesce the writes
+   * @return fluent self
+   */
+  public RedisConnectOptions setAutoPipelining(boolean autoPipelining) {
+    this.autoPipelining = autoPipelining;
+    return this;
+  }
+
+  /**
+   * The time, in microseconds, the encoded commands are accumulated before being written when
+   * {@link #isAutoPipelining() auto pipelining} is enabled.
+   *
+   * @return the delay in microseconds
+   */
+  public long getAutoPipeliningDelay() {
+    return autoPipeliningDelay;
+  }
+
+  /**
+   * Sets the time, in microseconds, the encoded commands are accumulated before being written when
+   * {@link #isAutoPipelining() auto pipelining} is enabled. With the default of {@code 0}, the commands issued
+   * during the same event loop turn are written together.
+   *
+   * @param autoPipeliningDelay the delay in microseconds
+   * @return fluent self
+   */
+  public RedisConnectOptions setAutoPipeliningDelay(long autoPipeliningDelay) {
+    this.autoPipeliningDelay = autoPipeliningDelay;
+    return this;
+  }
+
+  /**
+   * The number of bytes after which the accumulated commands are written right away, regardless of the
+   * {@link #getAutoPipeliningDelay() delay}, when {@link #isAutoPipelining() auto pipelining} is enabled.
+   *
+   * @return the byte budget of a single write
+   */
+  public int getAutoPipeliningMaxBytes() {
+    return autoPipeliningMaxBytes;
+  }
+
+  /**
+   * Sets the number of bytes after which the accumulated commands are written right away, regardless of the
+   * {@link #getAutoPipeliningDelay() delay}, when {@link #isAutoPipelining() auto pipelining} is enabled. The
+   * default is 64 KiB.
+   *
+   * @param autoPipeliningMaxBytes the byte budget of a single write
+   * @return fluent self
+   */
+  public RedisConnectOptions setAutoPipeliningMaxBytes(int autoPipeliningMaxBytes) {
+    this.autoPipeliningMaxBytes = autoPipeliningMaxBytes;
+    return this;
+  }
+
+  /**
+   * The number of sends that can wait on a connection for the waiting queue (or the socket write queue) to
+   * have room, instead of failing right away. {@code 0} disables parking.
+   *
+   * @return the number of parked sends
+   */
+  public int getMaxParkedSends() {
+    return maxParkedSends;
+  }
+
+  /**
+   * Sets the number of sends that can wait on a connection for the waiting queue (or the socket write queue) to
+   * have room. Parked sends are written in order as soon as there is room, sends beyond this number fail as
+   * when the waiting queue is full. With the default of {@code 0}, sends fail as soon as the waiting queue is full.
+   * <p>
+   * Producers can use {@link RedisConnection#writeQueueFull()} and {@link RedisConnection#drainHandler(io.vertx.core.Handler)}
+   * to throttle themselves.
+   *
+   * @param maxParkedSends the number of parked sends
+   * @return fluent self
+   */
+  public RedisConnectOptions setMaxParkedSends(int maxParkedSends) {
+    this.maxParkedSends = maxParkedSends;
+    return this;
+  }
+
+  /**
+   * Whether the number of commands in flight on a connection is limited according to the observed latency.
+   *
+   * @return whether the in flight limit adapts to the latency
+   */
+  public boolean isAdaptiveInFlightLimit() {
+    return adaptiveInFlightLimit;
+  }
+
+  /**
+   * Sets whether the number of commands in flight on a connection is limited according to the observed latency.
+   * The limit, at most {@link #getMaxWaitingHandlers() maxWaitingHandlers}, decreases when the latency grows
+   * above the lowest observed latency and increases otherwise. Sends beyond the limit are parked, or fail when
+   * no more sends can be parked.
+   *
+   * @param adaptiveInFlightLimit {@code true} to adapt the in flight limit
+   * @return fluent self
+   */
+  public RedisConnectOptions setAdaptiveInFlightLimit(boolean adaptiveInFlightLimit) {
+    this.adaptiveInFlightLimit = adaptiveInFlightLimit;
+    return this;
+  }
+
   /**
    * Converts this object to JSON notation.
    *
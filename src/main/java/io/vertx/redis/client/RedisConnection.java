@@ -16,11 +16,17 @@
 package io.vertx.redis.client;
 
 import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.streams.ReadStream;
+import io.vertx.redis.client.impl.BatchReadStream;
+import io.vertx.redis.client.impl.BulkReadStream;
+import io.vertx.redis.client.impl.DecodingReply;
+import io.vertx.redis.client.impl.MultiReadStream;
 
 import java.util.List;
 
@@ -80,6 +86,63 @@ public interface RedisConnection extends ReadStream<Response> {
    */
   Future<@Nullable Response> send(Request command);
 
+  /**
+   * Send the given command to the redis server and decode its reply with the given decoder.
+   * <p>
+   * The reply is delivered to the decoder as it is parsed, the intermediate {@link Response} objects
+   * are never created. Error replies fail the returned future and are not delivered to the decoder.
+   * <p>
+   * The default implementation replays the parsed {@link Response} to the decoder.
+   *
+   * @param command the command to send
+   * @param decoder the decoder of the reply, used for this reply only
+   * @return a future with the decoded value
+   */
+  @GenIgnore
+  default <T> Future<T> send(Request command, ReplyDecoder<T> decoder) {
+    return send(command).map(reply -> DecodingReply.decode(reply, decoder));
+  }
+
+  /**
+   * Send the given command to the redis server and get its bulk reply as a stream of buffers.
+   * <p>
+   * The returned future completes as soon as the length of the reply is known. The payload is then
+   * delivered in chunks, as they are received from the server, so large values are never fully held
+   * in memory. The stream applies back pressure to the connection, while the stream is paused, no other
+   * reply is read from this connection either.
+   * <p>
+   * A {@code null} reply results in an empty stream, an error reply fails the future.
+   * <p>
+   * The default implementation aggregates the reply and delivers it as a single chunk.
+   *
+   * @param command the command to send
+   * @return a future with the stream of the reply payload
+   */
+  default Future<ReadStream<Buffer>> sendBulkStream(Request command) {
+    return send(command).map(BulkReadStream::of);
+  }
+
+  /**
+   * Send the given command to the redis server and get its aggregate reply (array, set or map) as a stream
+   * of its elements.
+   * <p>
+   * The returned future completes as soon as the number of elements is known. Each element is then delivered
+   * as soon as it is received from the server, so replies with a large number of elements are never fully held
+   * in memory. Map entries are delivered as key/value pairs, just like when iterating over a map reply. The
+   * stream applies back pressure to the connection, while the stream is paused, no other reply is read from
+   * this connection either.
+   * <p>
+   * A {@code null} reply results in an empty stream, an error reply fails the future.
+   * <p>
+   * The default implementation aggregates the reply and delivers its elements once it is complete.
+   *
+   * @param command the command to send
+   * @return a future with the stream of the reply elements
+   */
+  default Future<ReadStream<Response>> sendMultiStream(Request command) {
+    return send(command).map(MultiReadStream::of);
+  }
+
   /**
    * Sends a list of commands in a single IO operation, this prevents any inter twinning to happen from other
    * client users.
@@ -89,6 +152,25 @@ public interface RedisConnection extends ReadStream<Response> {
    */
   Future<List<@Nullable Response>> batch(List<Request> commands);
 
+  /**
+   * Sends a list of commands in a single IO operation, like {@link #batch(List)}, and get their replies as a stream.
+   * <p>
+   * The replies are delivered in the order of the commands, as soon as each one is received from the server, so the
+   * replies of large batches are never fully held in memory. The index of a reply is its position in the stream.
+   * Error replies are delivered as {@link ResponseType#ERROR} elements instead of failing the whole batch, the end
+   * of the stream signals that all the replies have been received. The stream applies back pressure to the connection,
+   * while the stream is paused, no other reply is read from this connection either.
+   * <p>
+   * The default implementation aggregates the replies with {@link #batch(List)} and delivers them once they are all
+   * received, it fails the future when any command fails.
+   *
+   * @param commands list of command to send
+   * @return a future with the stream of the replies
+   */
+  default Future<ReadStream<Response>> batchStream(List<Request> commands) {
+    return batch(commands).map(BatchReadStream::of);
+  }
+
   /**
    * Closes the connection or returns to the pool.
    */
@@ -103,4 +185,35 @@ public interface RedisConnection extends ReadStream<Response> {
    * @return true is queue is full.
    */
   boolean pendingQueueFull();
+
+  /**
+   * Whether a send issued now would have to wait, either because the pending message queue is full, or because
+   * the data already sent has not been written to the socket yet. With {@link RedisOptions#setMaxParkedSends(int)}
+   * such a send is parked until there is room for it, otherwise it fails.
+   * <p>
+   * Producers should stop sending when this returns {@code true} and resume from the {@link #drainHandler(Handler)}.
+   * This method should be called from the context of the connection.
+   * <p>
+   * The default implementation returns {@link #pendingQueueFull()}.
+   *
+   * @return true if the connection is full.
+   */
+  default boolean writeQueueFull() {
+    return pendingQueueFull();
+  }
+
+  /**
+   * Set a drain handler on the connection. The handler is called once the connection is no longer full, after
+   * {@link #writeQueueFull()} returned {@code true} or a send had to be parked or failed because the connection was full.
+   * <p>
+   * Connections to a cluster or to replicas call the handler as soon as one of their connections that was full has
+   * room again. The default implementation never calls the handler.
+   *
+   * @param handler the handler
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  default RedisConnection drainHandler(@Nullable Handler<Void> handler) {
+    return this;
+  }
 }
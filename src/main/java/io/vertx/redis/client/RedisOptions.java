@@ -59,6 +59,11 @@ public class RedisOptions {
   private long topologyCacheTTL;
   private TracingPolicy tracingPolicy;
   private boolean autoFailover;
+  private boolean autoPipelining;
+  private long autoPipeliningDelay;
+  private int autoPipeliningMaxBytes;
+  private int maxParkedSends;
+  private boolean adaptiveInFlightLimit;
 
   /**
    * Creates a default configuration object using Redis server defaults
@@ -79,6 +84,7 @@ public class RedisOptions {
     clusterTransactions = RedisClusterTransactions.DISABLED;
     protocolNegotiation = true;
     topologyCacheTTL = 1000;
+    autoPipeliningMaxBytes = 65536;
   }
 
   /**
@@ -106,6 +112,11 @@ public class RedisOptions {
     this.topologyCacheTTL = other.topologyCacheTTL;
     this.tracingPolicy = other.tracingPolicy;
     this.autoFailover = other.autoFailover;
+    this.autoPipelining = other.autoPipelining;
+    this.autoPipeliningDelay = other.autoPipeliningDelay;
+    this.autoPipeliningMaxBytes = other.autoPipeliningMaxBytes;
+    this.maxParkedSends = other.maxParkedSends;
+    this.adaptiveInFlightLimit = other.adaptiveInFlightLimit;
   }
 
   /**
@@ -585,6 +596,9 @@ public class RedisOptions {
    * As opposed to {@linkplain #setPoolRecycleTimeout(int) recycle timeout}, this property
    * does not take into account when the connection was last used. If the connection
    * is too old, it is evicted even if it was used very recently.
+   * <p>
+   * A connection is replaced before it is evicted: once it is too old, a new connection is opened in
+   * the background and the old connection is only evicted once the new one is ready to be used.
    *
    * @param maxLifetime the maximum lifetime
    * @return fluent self
@@ -594,6 +608,118 @@ public class RedisOptions {
     return this;
   }
 
+  /**
+   * Get the number of connections shared by the connection-less commands ({@link Redis#send(Request)} and
+   * {@link Redis#batch(java.util.List)}).
+   * <p>
+   * By default, the number is 0 and each command leases a connection from the pool.
+   *
+   * @return the number of multiplexed connections
+   */
+  public int getMultiplexedConnections() {
+    return poolOptions.getMultiplexedConnections();
+  }
+
+  /**
+   * Set the number of connections shared by the connection-less commands ({@link Redis#send(Request)} and
+   * {@link Redis#batch(java.util.List)}). These connections are leased from the pool once and kept, the commands
+   * are pipelined over them in turn instead of leasing a connection for each command, so the number should
+   * stay well below the maximum pool size. It must be lower than the maximum pool size, otherwise the client
+   * cannot be created.
+   * <p>
+   * Commands that block or change the state of the connection (for example {@code BLPOP} or {@code SELECT}) still
+   * lease a connection of their own.
+   * <p>
+   * By default, the number is 0 and each command leases a connection from the pool.
+   *
+   * @param multiplexedConnections the number of multiplexed connections
+   * @return fluent self
+   */
+  public RedisOptions setMultiplexedConnections(int multiplexedConnections) {
+    poolOptions.setMultiplexedConnections(multiplexedConnections);
+    return this;
+  }
+
+  /**
+   * Get whether the connections of the pool are partitioned by event loop.
+   * <p>
+   * By default, the pool hands out any available connection.
+   *
+   * @return whether the connections are partitioned by event loop
+   */
+  public boolean isPoolEventLoopAffinity() {
+    return poolOptions.isEventLoopAffinity();
+  }
+
+  /**
+   * Set whether the connections of the pool are partitioned by event loop. A connection is then preferably handed
+   * out to callers running on the event loop it is bound to, so its replies are not handed over to another
+   * event loop. When none of them is available, a new one is created on the event loop of the caller, and
+   * connections of other event loops are only used once the pool is full.
+   * <p>
+   * By default, the pool hands out any available connection.
+   *
+   * @param eventLoopAffinity whether the connections are partitioned by event loop
+   * @return fluent self
+   */
+  public RedisOptions setPoolEventLoopAffinity(boolean eventLoopAffinity) {
+    poolOptions.setEventLoopAffinity(eventLoopAffinity);
+    return this;
+  }
+
+  /**
+   * Get the minimum number of connections the pool keeps open, even when they are not used.
+   * <p>
+   * By default, the minimum is 0 and connections are only opened on demand.
+   *
+   * @return the minimum number of connections
+   */
+  public int getMinPoolIdle() {
+    return poolOptions.getMinIdle();
+  }
+
+  /**
+   * Set the minimum number of connections the pool keeps open, even when they are not used. These connections
+   * are opened as soon as the client is created (see {@link Redis#warmUp()}), and connections that are evicted are
+   * replenished in the background during connection pool {@linkplain #setPoolCleanerInterval(int) cleaning}, so commands
+   * do not wait for a connection to be established.
+   * <p>
+   * By default, the minimum is 0 and connections are only opened on demand.
+   *
+   * @param minIdle the minimum number of connections
+   * @return fluent self
+   */
+  public RedisOptions setMinPoolIdle(int minIdle) {
+    poolOptions.setMinIdle(minIdle);
+    return this;
+  }
+
+  /**
+   * Get the jitter of the {@linkplain #getPoolMaxLifetime() maximum lifetime} of the connections.
+   * <p>
+   * The value is in milliseconds. By default, the jitter is 0.
+   *
+   * @return the jitter of the maximum lifetime
+   */
+  public long getPoolMaxLifetimeJitter() {
+    return poolOptions.getMaxLifetimeJitter();
+  }
+
+  /**
+   * Set the jitter of the {@linkplain #setPoolMaxLifetime(long) maximum lifetime} of the connections. The lifetime
+   * of each connection is shortened by a random duration up to the jitter, so the connections opened together
+   * are not all replaced at once.
+   * <p>
+   * The value is in milliseconds. By default, the jitter is 0.
+   *
+   * @param maxLifetimeJitter the jitter of the maximum lifetime
+   * @return fluent self
+   */
+  public RedisOptions setPoolMaxLifetimeJitter(long maxLifetimeJitter) {
+    poolOptions.setMaxLifetimeJitter(maxLifetimeJitter);
+    return this;
+  }
+
   /**
    * Get the default username for Redis connections. If not set, it will try to
    * extract it from the current default endpoint ({@link #getEndpoint()}).
@@ -844,6 +970,126 @@ public class RedisOptions {
     return this;
   }
 
+  /**
+   * Whether the commands sent on a connection are coalesced into a single write. When enabled, the encoded
+   * commands are accumulated and written (and flushed) together, at the end of the current event loop turn or
+   * after the configured {@link #getAutoPipeliningDelay() delay}, or as soon as the
+   * {@link #getAutoPipeliningMaxBytes() byte budget} is reached.
+   *
+   * @return whether the writes are coalesced
+   */
+  public boolean isAutoPipelining() {
+    return autoPipelining;
+  }
+
+  /**
+   * Whether the commands sent on a connection are coalesced into a single write. When enabled, the encoded
+   * commands are accumulated and written (and flushed) together, reducing the number of system calls under high
+   * concurrency. The default is {@code false}.
+   *
+   * @param autoPipelining {@code true} to coalesce the writes
+   * @return fluent self
+   */
+  public RedisOptions setAutoPipelining(boolean autoPipelining) {
+    this.autoPipelining = autoPipelining;
+    return this;
+  }
+
+  /**
+   * The time, in microseconds, the encoded commands are accumulated before being written when
+   * {@link #isAutoPipelining() auto pipelining} is enabled.
+   *
+   * @return the delay in microseconds
+   */
+  public long getAutoPipeliningDelay() {
+    return autoPipeliningDelay;
+  }
+
+  /**
+   * Sets the time, in microseconds, the encoded commands are accumulated before being written when
+   * {@link #isAutoPipelining() auto pipelining} is enabled. With the default of {@code 0}, the commands issued
+   * during the same event loop turn are written together.
+   *
+   * @param autoPipeliningDelay the delay in microseconds
+   * @return fluent self
+   */
+  public RedisOptions setAutoPipeliningDelay(long autoPipeliningDelay) {
+    this.autoPipeliningDelay = autoPipeliningDelay;
+    return this;
+  }
+
+  /**
+   * The number of bytes after which the accumulated commands are written right away, regardless of the
+   * {@link #getAutoPipeliningDelay() delay}, when {@link #isAutoPipelining() auto pipelining} is enabled.
+   *
+   * @return the byte budget of a single write
+   */
+  public int getAutoPipeliningMaxBytes() {
+    return autoPipeliningMaxBytes;
+  }
+
+  /**
+   * Sets the number of bytes after which the accumulated commands are written right away, regardless of the
+   * {@link #getAutoPipeliningDelay() delay}, when {@link #isAutoPipelining() auto pipelining} is enabled. The
+   * default is 64 KiB.
+   *
+   * @param autoPipeliningMaxBytes the byte budget of a single write
+   * @return fluent self
+   */
+  public RedisOptions setAutoPipeliningMaxBytes(int autoPipeliningMaxBytes) {
+    this.autoPipeliningMaxBytes = autoPipeliningMaxBytes;
+    return this;
+  }
+
+  /**
+   * The number of sends that can wait on a connection for the waiting queue (or the socket write queue) to
+   * have room, instead of failing right away. {@code 0} disables parking.
+   *
+   * @return the number of parked sends
+   */
+  public int getMaxParkedSends() {
+    return maxParkedSends;
+  }
+
+  /**
+   * Sets the number of sends that can wait on a connection for the waiting queue (or the socket write queue) to
+   * have room. Parked sends are written in order as soon as there is room, sends beyond this number fail as
+   * when the waiting queue is full. With the default of {@code 0}, sends fail as soon as the waiting queue is full.
+   * <p>
+   * Producers can use {@link RedisConnection#writeQueueFull()} and {@link RedisConnection#drainHandler(io.vertx.core.Handler)}
+   * to throttle themselves.
+   *
+   * @param maxParkedSends the number of parked sends
+   * @return fluent self
+   */
+  public RedisOptions setMaxParkedSends(int maxParkedSends) {
+    this.maxParkedSends = maxParkedSends;
+    return this;
+  }
+
+  /**
+   * Whether the number of commands in flight on a connection is limited according to the observed latency.
+   *
+   * @return whether the in flight limit adapts to the latency
+   */
+  public boolean isAdaptiveInFlightLimit() {
+    return adaptiveInFlightLimit;
+  }
+
+  /**
+   * Sets whether the number of commands in flight on a connection is limited according to the observed latency.
+   * The limit, at most {@link #getMaxWaitingHandlers() maxWaitingHandlers}, decreases when the latency grows
+   * above the lowest observed latency and increases otherwise. Sends beyond the limit are parked, or fail when
+   * no more sends can be parked.
+   *
+   * @param adaptiveInFlightLimit {@code true} to adapt the in flight limit
+   * @return fluent self
+   */
+  public RedisOptions setAdaptiveInFlightLimit(boolean adaptiveInFlightLimit) {
+    this.adaptiveInFlightLimit = adaptiveInFlightLimit;
+    return this;
+  }
+
   /**
    * Converts this object to JSON notation.
    *
@@ -138,6 +138,31 @@ public class RedisReplicationConnectOptions extends RedisConnectOptions {
     return (RedisReplicationConnectOptions) super.setMaxWaitingHandlers(maxWaitingHandlers);
   }
 
+  @Override
+  public RedisReplicationConnectOptions setAutoPipelining(boolean autoPipelining) {
+    return (RedisReplicationConnectOptions) super.setAutoPipelining(autoPipelining);
+  }
+
+  @Override
+  public RedisReplicationConnectOptions setAutoPipeliningDelay(long autoPipeliningDelay) {
+    return (RedisReplicationConnectOptions) super.setAutoPipeliningDelay(autoPipeliningDelay);
+  }
+
+  @Override
+  public RedisReplicationConnectOptions setAutoPipeliningMaxBytes(int autoPipeliningMaxBytes) {
+    return (RedisReplicationConnectOptions) super.setAutoPipeliningMaxBytes(autoPipeliningMaxBytes);
+  }
+
+  @Override
+  public RedisReplicationConnectOptions setMaxParkedSends(int maxParkedSends) {
+    return (RedisReplicationConnectOptions) super.setMaxParkedSends(maxParkedSends);
+  }
+
+  @Override
+  public RedisReplicationConnectOptions setAdaptiveInFlightLimit(boolean adaptiveInFlightLimit) {
+    return (RedisReplicationConnectOptions) super.setAdaptiveInFlightLimit(adaptiveInFlightLimit);
+  }
+
   /**
    * Converts this object to JSON notation.
    *
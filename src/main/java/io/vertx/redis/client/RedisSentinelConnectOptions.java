@@ -224,6 +224,31 @@ public class RedisSentinelConnectOptions extends RedisConnectOptions {
     return (RedisSentinelConnectOptions) super.setMaxWaitingHandlers(maxWaitingHandlers);
   }
 
+  @Override
+  public RedisSentinelConnectOptions setAutoPipelining(boolean autoPipelining) {
+    return (RedisSentinelConnectOptions) super.setAutoPipelining(autoPipelining);
+  }
+
+  @Override
+  public RedisSentinelConnectOptions setAutoPipeliningDelay(long autoPipeliningDelay) {
+    return (RedisSentinelConnectOptions) super.setAutoPipeliningDelay(autoPipeliningDelay);
+  }
+
+  @Override
+  public RedisSentinelConnectOptions setAutoPipeliningMaxBytes(int autoPipeliningMaxBytes) {
+    return (RedisSentinelConnectOptions) super.setAutoPipeliningMaxBytes(autoPipeliningMaxBytes);
+  }
+
+  @Override
+  public RedisSentinelConnectOptions setMaxParkedSends(int maxParkedSends) {
+    return (RedisSentinelConnectOptions) super.setMaxParkedSends(maxParkedSends);
+  }
+
+  @Override
+  public RedisSentinelConnectOptions setAdaptiveInFlightLimit(boolean adaptiveInFlightLimit) {
+    return (RedisSentinelConnectOptions) super.setAdaptiveInFlightLimit(adaptiveInFlightLimit);
+  }
+
   /**
    * Converts this object to JSON notation.
    *
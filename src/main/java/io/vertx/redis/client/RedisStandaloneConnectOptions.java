@@ -87,6 +87,31 @@ public class RedisStandaloneConnectOptions extends RedisConnectOptions {
     return (RedisStandaloneConnectOptions) super.setMaxWaitingHandlers(maxWaitingHandlers);
   }
 
+  @Override
+  public RedisStandaloneConnectOptions setAutoPipelining(boolean autoPipelining) {
+    return (RedisStandaloneConnectOptions) super.setAutoPipelining(autoPipelining);
+  }
+
+  @Override
+  public RedisStandaloneConnectOptions setAutoPipeliningDelay(long autoPipeliningDelay) {
+    return (RedisStandaloneConnectOptions) super.setAutoPipeliningDelay(autoPipeliningDelay);
+  }
+
+  @Override
+  public RedisStandaloneConnectOptions setAutoPipeliningMaxBytes(int autoPipeliningMaxBytes) {
+    return (RedisStandaloneConnectOptions) super.setAutoPipeliningMaxBytes(autoPipeliningMaxBytes);
+  }
+
+  @Override
+  public RedisStandaloneConnectOptions setMaxParkedSends(int maxParkedSends) {
+    return (RedisStandaloneConnectOptions) super.setMaxParkedSends(maxParkedSends);
+  }
+
+  @Override
+  public RedisStandaloneConnectOptions setAdaptiveInFlightLimit(boolean adaptiveInFlightLimit) {
+    return (RedisStandaloneConnectOptions) super.setAdaptiveInFlightLimit(adaptiveInFlightLimit);
+  }
+
   /**
    * Converts this object to JSON notation.
    *
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.math.BigInteger;
+
+/**
+ * Decodes a reply as it is parsed, without building a {@link Response} first.
+ * <p>
+ * The decoder receives the reply as a sequence of events, aggregates are delimited by a {@code begin} and
+ * an {@link #endAggregate()} event, the elements in between are the events of each element, map entries
+ * being a key followed by its value. Once the whole reply has been received, {@link #result()} is called.
+ * <p>
+ * A reply that is an error does not reach the decoder, the request fails with the error instead. RESP3
+ * attributes are not part of the reply and are not delivered either. A decoder that throws fails the
+ * request, the connection is not affected.
+ * <p>
+ * A decoder is used for a single reply, events are delivered on the connection context.
+ *
+ * @param <T> the type of the decoded value
+ */
+public interface ReplyDecoder<T> {
+
+  /**
+   * The begin of an array, set or push.
+   *
+   * @param length the number of elements
+   */
+  void beginArray(int length);
+
+  /**
+   * The begin of a map.
+   *
+   * @param length the number of entries
+   */
+  void beginMap(int length);
+
+  /**
+   * The end of the innermost aggregate.
+   */
+  void endAggregate();
+
+  /**
+   * A bulk string, or verbatim string without its format.
+   */
+  void bulk(Buffer value);
+
+  /**
+   * A simple string.
+   */
+  void simpleString(String value);
+
+  /**
+   * An error that is an element of an aggregate.
+   */
+  void error(String value);
+
+  /**
+   * An integer.
+   */
+  void integer(long value);
+
+  /**
+   * A double.
+   */
+  void decimal(double value);
+
+  /**
+   * A big number.
+   */
+  void bigInteger(BigInteger value);
+
+  /**
+   * A boolean.
+   */
+  void bool(boolean value);
+
+  /**
+   * A null value, which includes null bulk strings and null arrays.
+   */
+  void nil();
+
+  /**
+   * @return the decoded value, once the whole reply has been received
+   */
+  T result();
+}
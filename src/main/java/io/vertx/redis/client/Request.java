@@ -21,6 +21,7 @@ import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.redis.client.impl.RequestImpl;
 
 import java.nio.charset.Charset;
@@ -105,13 +106,41 @@ public interface Request {
   }
 
   /**
-   * Adds a String key argument
+   * Adds a Buffer argument. The content of the buffer is copied, so the buffer can be modified or reused once
+   * this method returns.
    *
    * @return self
    */
   @Fluent
   Request arg(Buffer arg);
 
+  /**
+   * Adds a Buffer argument without copying it. The buffer is kept by reference and large buffers are written
+   * to the connection as they are, so the buffer must not be modified until the request has been written, i.e.
+   * until the returned future of the send operation is completed.
+   *
+   * @return self
+   */
+  @Fluent
+  Request argByReference(Buffer arg);
+
+  /**
+   * Adds an argument whose value is read from the given stream, e.g.: a file or an upload. The stream is only
+   * read when the request is written, chunks are written to the connection as they are read, applying back
+   * pressure to the stream, so the value is never fully held in memory.
+   * <p>
+   * The stream must provide exactly {@code length} bytes, otherwise the connection is closed, as the request
+   * cannot be completed. A request with a streamed argument can only be sent once. Requests sent on the same
+   * connection while the stream is written are written once it ends.
+   *
+   * @param stream the stream of the value
+   * @param length the length of the value, in bytes
+   * @return self
+   */
+  @Fluent
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  Request arg(ReadStream<Buffer> stream, long length);
+
   /**
    * Adds a long encoded to string
    *
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client;
+
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.redis.client.impl.RequestTemplateImpl;
+
+/**
+ * A pre-encoded request, for commands that are sent over and over with the same structure, e.g.:
+ *
+ * <pre>
+ *   RequestTemplate incr = RequestTemplate.cmd(Command.HINCRBY, RequestTemplate.VAR, RequestTemplate.VAR, 1);
+ *   // ...
+ *   redis.send(incr.request("counters", "visits"));
+ * </pre>
+ * <p>
+ * The array header, the command and the constant arguments are encoded once, when the template is created, only
+ * the variable arguments are encoded when a request is sent. The keys positions and whether the command is read
+ * only are also resolved once, as long as they do not depend on the variable arguments.
+ * <p>
+ * Templates are immutable and can be shared.
+ */
+public interface RequestTemplate {
+
+  /**
+   * Marks a variable argument of a template.
+   */
+  Object VAR = new Object() {
+    @Override
+    public String toString() {
+      return "VAR";
+    }
+  };
+
+  /**
+   * Creates a template with simple types of arguments: {@link Number}, {@link Boolean}, {@link String},
+   * {@code byte[]} or {@link Buffer}, and {@link #VAR} for the arguments that change on each request.
+   *
+   * @param command the command to use
+   * @param args    the fixed list of arguments
+   * @return a new template
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  static RequestTemplate cmd(Command command, Object... args) {
+    return new RequestTemplateImpl(command, args);
+  }
+
+  /**
+   * Creates a request from this template, the values are the variable arguments, in order. They accept the same
+   * types as the constant arguments.
+   *
+   * @param values the values of the variable arguments
+   * @return a new request instance, arguments cannot be added to it
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  Request request(Object... values);
+}
@@ -42,6 +42,10 @@ import java.util.stream.StreamSupport;
  * Due to the dynamic nature the response object will try to cast the received response to the desired type. A special
  * case should be noted that multi responses are also handled by the response object as it implements the iterable
  * interface. So in this case constructs like for loops on the response will give you access to the underlying elements.
+ * <p>
+ * Responses are not thread safe: multi responses may decode their elements, or index their keys, the first time
+ * they are accessed. A response should be read by one thread at a time, when it is handed to another thread it must
+ * be published safely (e.g.: through a {@link io.vertx.core.Future} or the event bus).
  *
  * @author Paulo Lopes
  */
@@ -218,6 +222,12 @@ public interface Response extends Iterable<Response> {
 
   /**
    * Get this response as Buffer.
+   * <p>
+   * When the parser runs in zero copy mode (system property {@code io.vertx.redis.parser.zeroCopy}),
+   * the returned buffer is a read-only view over the data received from the network. No release is
+   * required, the memory is reclaimed by the garbage collector once the view is not referenced anymore,
+   * but as long as the view is alive it also keeps the surrounding network data alive. Applications that
+   * keep small values for a long time should {@linkplain Buffer#copy() copy} them.
    *
    * @return buffer value.
    */
@@ -332,6 +342,43 @@ public interface Response extends Iterable<Response> {
     throw new UnsupportedOperationException("This type doesn't hold an Array/Map type");
   }
 
+  /**
+   * Get the elements of this multi response as longs, {@code null} elements are {@code 0}.
+   * <p>
+   * Arrays of integers are kept as primitives by the parser, in that case the array is copied at once.
+   * The returned array can be modified, this response is not affected.
+   *
+   * @return long values.
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  default long[] toLongArray() {
+    throw new UnsupportedOperationException("This type doesn't hold an Array/Map type");
+  }
+
+  /**
+   * Get the elements of this multi response as doubles, {@code null} elements are {@code NaN}.
+   * <p>
+   * Arrays of doubles are kept as primitives by the parser, in that case the array is copied at once.
+   * The returned array can be modified, this response is not affected.
+   *
+   * @return double values.
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  default double[] toDoubleArray() {
+    throw new UnsupportedOperationException("This type doesn't hold an Array/Map type");
+  }
+
+  /**
+   * Get the elements of this multi response as booleans, integers are {@code true} when equal to {@code 1},
+   * {@code null} elements are {@code false}.
+   *
+   * @return boolean values.
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  default boolean[] toBooleanArray() {
+    throw new UnsupportedOperationException("This type doesn't hold an Array/Map type");
+  }
+
   /**
    * Returns whether this multi response is an array and hence {@link #get(int)} can be called.
    * <p>
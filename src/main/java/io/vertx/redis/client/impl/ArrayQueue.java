@@ -19,22 +19,37 @@ import io.vertx.codegen.annotations.Nullable;
 
 import java.util.Objects;
 
+/**
+ * A FIFO queue with a bounded capacity, the storage grows on demand, up to the capacity.
+ * <p>
+ * The capacity is counted in slots, an element takes one slot unless offered with more. The slots of an element
+ * are released one at a time with {@link #release()}, while the element stays at the front, the last one is
+ * released when the element is polled.
+ * <p>
+ * Not thread safe, the queue is confined to a single context. Only {@link #isFull()} can be called from any thread.
+ */
 public final class ArrayQueue {
 
-  private int
-    cur,      // current number of elements
-    front,    // front index
-    back;     // back index
+  private static final int INITIAL_SIZE = 16;
 
-  private final Object[] queue;
+  private final int capacity;
+  private Object[] queue;
+  // index of the first element
+  private int front;
+  // current number of elements
+  private int cur;
+  // current number of slots taken by the elements
+  private int used;
+  // only updated when the queue becomes full or stops being full
+  private volatile boolean full;
 
   /**
    * Creates a new empty queue.
    */
   public ArrayQueue(int capacity) {
-    queue = new Object[capacity];
-    back = -1;
-    front = 0;
+    this.capacity = capacity;
+    this.queue = new Object[Math.min(capacity, INITIAL_SIZE)];
+    this.full = capacity == 0;
   }
 
   /**
@@ -48,24 +63,42 @@ public final class ArrayQueue {
 
   /**
    * Puts a value into the back of the queue. It works with wraparound.
-   * If the queue is full, it doubles its size.
+   * If the storage is full, it doubles its size, up to the capacity.
    *
    * @param value the item to insert.
    * @throws IndexOutOfBoundsException if the queue is full.
    * @throws NullPointerException      if the value is {@code null}
    */
   public <T> void offer(T value) {
+    offer(value, 1);
+  }
+
+  /**
+   * Puts a value taking the given number of slots into the back of the queue.
+   *
+   * @param value the item to insert.
+   * @param slots the number of slots the item takes, at least 1.
+   * @throws IndexOutOfBoundsException if the queue has not enough free slots.
+   * @throws NullPointerException      if the value is {@code null}
+   */
+  public <T> void offer(T value, int slots) {
     Objects.requireNonNull(value, "'value' cannot be null");
-    if (isFull()) {
+    if (slots > capacity - used) {
       throw new IndexOutOfBoundsException();
     }
-    back++;
-    if (back == Integer.MAX_VALUE) {
-      // ensure the indexes stay positive
-      back %= queue.length;
+    if (cur == queue.length) {
+      grow();
+    }
+    int back = front + cur;
+    if (back >= queue.length) {
+      back -= queue.length;
     }
-    queue[back % queue.length] = value;
+    queue[back] = value;
     cur++;
+    used += slots;
+    if (used == capacity) {
+      full = true;
+    }
   }
 
   /**
@@ -75,11 +108,7 @@ public final class ArrayQueue {
    */
   @SuppressWarnings("unchecked")
   <T> @Nullable T peek() {
-    if (isEmpty()) {
-      return null;
-    } else {
-      return (T) queue[front % queue.length];
-    }
+    return isEmpty() ? null : (T) queue[front];
   }
 
   /**
@@ -87,29 +116,55 @@ public final class ArrayQueue {
    *
    * @return element at front of the queue or {@code null} if the queue is empty.
    */
+  @SuppressWarnings("unchecked")
   public <T> @Nullable T poll() {
     if (isEmpty()) {
       return null;
     }
-    T e = peek();
-    queue[front % queue.length] = null; // for garbage collection
-    front++;
-    if (front == Integer.MAX_VALUE) {
-      // ensure the indexes stay positive
-      front %= queue.length;
+    final T e = (T) queue[front];
+    queue[front] = null; // for garbage collection
+    if (++front == queue.length) {
+      front = 0;
     }
     cur--;
+    release();
     return e;
   }
 
+  /**
+   * Releases one of the slots of the front element, which stays in the queue.
+   */
+  public void release() {
+    if (used-- == capacity) {
+      full = false;
+    }
+  }
+
+  /**
+   * The number of slots taken by the elements in the queue.
+   */
+  int size() {
+    return used;
+  }
+
   public int freeSlots() {
-    return queue.length - cur;
+    return capacity - used;
   }
 
   /**
    * Tests if the queue is logically full
    */
   boolean isFull() {
-    return cur == queue.length;
+    return full;
+  }
+
+  private void grow() {
+    final Object[] grown = new Object[(int) Math.min(capacity, queue.length * 2L)];
+    // the elements are moved to the start of the new storage, in order
+    final int head = queue.length - front;
+    System.arraycopy(queue, front, grown, 0, head);
+    System.arraycopy(queue, 0, grown, head, front);
+    queue = grown;
+    front = 0;
   }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.EventLoop;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.internal.ContextInternal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coalesces the messages written to a connection, so they are written (and flushed) together, at the end of the
+ * current event loop turn, after a delay, or once a byte budget is reached.
+ * <p>
+ * Not thread safe, messages are written from the connection context.
+ */
+final class AutoPipeline {
+
+  private final ContextInternal context;
+  private final Function<ByteBuf, Future<Void>> writer;
+  // in microseconds, 0 to write at the end of the current event loop turn
+  private final long delay;
+  private final int maxBytes;
+
+  // the messages waiting to be written, a single message is not wrapped in a composite
+  private ByteBuf pending;
+  private Promise<Void> written;
+  private boolean scheduled;
+
+  AutoPipeline(ContextInternal context, Function<ByteBuf, Future<Void>> writer, long delay, int maxBytes) {
+    this.context = context;
+    this.writer = writer;
+    this.delay = delay;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * @return a future completed once the write that includes the given message completes
+   */
+  Future<Void> write(ByteBuf message) {
+    if (pending == null) {
+      pending = message;
+      written = context.promise();
+    } else {
+      if (!(pending instanceof CompositeByteBuf)) {
+        final CompositeByteBuf composite = message.alloc().compositeBuffer(Integer.MAX_VALUE);
+        composite.addComponent(true, pending);
+        pending = composite;
+      }
+      ((CompositeByteBuf) pending).addComponent(true, message);
+    }
+
+    final Future<Void> future = written.future();
+    if (pending.readableBytes() >= maxBytes) {
+      flush();
+    } else if (!scheduled) {
+      // a flush that is already scheduled also writes the messages added after an early flush
+      scheduled = true;
+      final EventLoop eventLoop = context.nettyEventLoop();
+      final Runnable task = () -> context.execute(() -> {
+        scheduled = false;
+        flush();
+      });
+      if (delay > 0) {
+        eventLoop.schedule(task, delay, TimeUnit.MICROSECONDS);
+      } else {
+        // queued behind the tasks of the current turn, e.g.: other sends
+        eventLoop.execute(task);
+      }
+    }
+    return future;
+  }
+
+  /**
+   * Writes the pending messages right away, e.g.: before a stream is written to the connection.
+   */
+  void flush() {
+    if (pending == null) {
+      return;
+    }
+    final ByteBuf message = pending;
+    final Promise<Void> promise = written;
+    pending = null;
+    written = null;
+    writer.apply(message).onComplete(promise);
+  }
+}
@@ -2,6 +2,7 @@ package io.vertx.redis.client.impl;
 
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.internal.logging.Logger;
@@ -10,6 +11,7 @@ import io.vertx.core.net.NetClientOptions;
 import io.vertx.core.tracing.TracingPolicy;
 import io.vertx.redis.client.PoolOptions;
 import io.vertx.redis.client.Redis;
+import io.vertx.redis.client.RedisConnection;
 import io.vertx.redis.client.RedisConnectOptions;
 import io.vertx.redis.client.Request;
 import io.vertx.redis.client.Response;
@@ -25,12 +27,46 @@ public abstract class BaseRedisClient<OPTS extends RedisConnectOptions> implemen
   protected final VertxInternal vertx;
   protected final Supplier<Future<OPTS>> connectOptions;
   protected final RedisConnectionManager connectionManager;
+  // connections shared by the connection-less commands, null when each command leases its own
+  private final MultiplexedConnections multiplexed;
+  // completed once the minimum idle connections have been opened
+  private final Promise<Void> warmUp;
 
   public BaseRedisClient(Vertx vertx, NetClientOptions tcpOptions, PoolOptions poolOptions, Supplier<Future<OPTS>> connectOptions, TracingPolicy tracingPolicy) {
+    // validate options, the commands that cannot be multiplexed still need a connection of their own
+    if (poolOptions.getMultiplexedConnections() > 0 && poolOptions.getMultiplexedConnections() >= poolOptions.getMaxSize()) {
+      throw new IllegalStateException("Invalid options: multiplexedConnections >= maxSize");
+    }
     this.vertx = (VertxInternal) vertx;
     this.connectOptions = connectOptions;
     this.connectionManager = new RedisConnectionManager(this.vertx, tcpOptions, poolOptions, (Supplier) connectOptions, tracingPolicy);
     this.connectionManager.start();
+    this.multiplexed = poolOptions.getMultiplexedConnections() > 0 ?
+      new MultiplexedConnections(this.vertx, poolOptions.getMultiplexedConnections(), this::connect) :
+      null;
+    this.warmUp = this.vertx.promise();
+    if (poolOptions.getMinIdle() > 0) {
+      // deferred, so the client is fully constructed before it connects
+      this.vertx.runOnContext(v -> openIdleConnections()
+        .onFailure(err -> LOG.warn("Failed to warm up the connection pool", err))
+        .onComplete(warmUp));
+    } else {
+      warmUp.complete();
+    }
+  }
+
+  /**
+   * Opens a first connection, so the endpoints are known, then fills their pools the way the cleaner does.
+   */
+  private Future<Void> openIdleConnections() {
+    return connect()
+      .compose(RedisConnection::close)
+      .compose(v -> connectionManager.replenish());
+  }
+
+  @Override
+  public Future<Void> warmUp() {
+    return warmUp.future();
   }
 
   public RedisConnectionManager connectionManager() {
@@ -39,6 +75,10 @@ public abstract class BaseRedisClient<OPTS extends RedisConnectOptions> implemen
 
   @Override
   public Future<Void> close() {
+    if (multiplexed != null) {
+      return multiplexed.close()
+        .eventually(connectionManager::close);
+    }
     return this.connectionManager.close();
   }
 
@@ -52,6 +92,10 @@ public abstract class BaseRedisClient<OPTS extends RedisConnectOptions> implemen
       return vertx.getOrCreateContext().failedFuture("Transactional command in connection-less mode not allowed");
     }
 
+    if (multiplexed != null && MultiplexedConnections.accepts(request)) {
+      return multiplexed.send(request);
+    }
+
     return connect()
       .compose(conn ->
         conn.send(request)
@@ -78,6 +122,11 @@ public abstract class BaseRedisClient<OPTS extends RedisConnectOptions> implemen
         // executed on a single connection and can therefore contain the whole transaction
       }
 
+      if (multiplexed != null && MultiplexedConnections.accepts(requests)) {
+        // a batch is written at once, so a transaction in it is not interleaved with other commands
+        return multiplexed.batch(requests);
+      }
+
       return connect()
         .compose(conn ->
           conn.batch(requests)
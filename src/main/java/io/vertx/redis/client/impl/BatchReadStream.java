@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client.impl;
+
+import io.vertx.core.Promise;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.redis.client.Response;
+
+import java.util.List;
+
+/**
+ * The replies of a batch delivered one by one, in the order of the commands, as they are parsed. Error replies
+ * are delivered as elements of the stream, so each command can be checked on its own.
+ */
+public final class BatchReadStream extends ReplyReadStream<Response> {
+
+  /**
+   * Wraps the replies of a batch that have been received in full as a stream.
+   *
+   * @param replies the replies of the batch
+   * @return a stream that is already ended
+   */
+  public static ReadStream<Response> of(List<Response> replies) {
+    final BatchReadStream stream = new BatchReadStream(null, null, null);
+    for (Response reply : replies) {
+      stream.write(reply);
+    }
+    return stream.completed(null);
+  }
+
+  BatchReadStream(ContextInternal context, RedisStandaloneConnection connection, Promise<ReadStream<Response>> promise) {
+    super(context, connection, promise);
+  }
+
+  @Override
+  void aggregated(Response response) {
+    // the replies of a batch are always delivered one by one
+    throw new IllegalStateException("A batch reply cannot be aggregated");
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client.impl;
+
+import io.vertx.core.Promise;
+import io.vertx.redis.client.Response;
+import io.vertx.redis.client.ResponseType;
+import io.vertx.redis.client.impl.types.ErrorType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The waiting queue entry of a whole batch, it takes one slot per command and either collects the replies
+ * in order, or delivers them to a {@link BatchReadStream} as they are received.
+ * <p>
+ * Not thread safe, the replies are received on the connection context.
+ */
+final class BatchReply {
+
+  private final Promise<List<Response>> promise;
+  private final Response[] replies;
+  private final BatchReadStream stream;
+  private final int size;
+  // number of replies the connection has taken from the waiting queue
+  private int taken;
+  // the errors of the commands, null until a command fails
+  private StringBuilder errors;
+
+  BatchReply(Promise<List<Response>> promise, int size) {
+    this.promise = promise;
+    this.replies = new Response[size];
+    this.stream = null;
+    this.size = size;
+  }
+
+  BatchReply(BatchReadStream stream, int size) {
+    this.promise = null;
+    this.replies = null;
+    this.stream = stream;
+    this.size = size;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * The batch has been written, its stream (if any) can be handed to the application.
+   */
+  void written() {
+    if (stream != null) {
+      stream.begin();
+    }
+  }
+
+  /**
+   * Completes a batch without commands.
+   */
+  void empty() {
+    if (stream != null) {
+      stream.begin();
+      stream.end();
+    } else {
+      promise.succeed(Collections.emptyList());
+    }
+  }
+
+  /**
+   * Takes the next reply of the batch.
+   *
+   * @return {@code true} if it is the last reply of the batch
+   */
+  boolean take() {
+    return ++taken == size;
+  }
+
+  /**
+   * Sets the reply last taken, the batch is completed with the last one.
+   *
+   * @return {@code false} if the batch was completed and its result was already complete
+   */
+  boolean reply(Response reply) {
+    if (stream != null) {
+      stream.write(reply);
+      if (taken == size) {
+        stream.end();
+      }
+      return true;
+    }
+
+    final int index = taken - 1;
+    if (reply != null && reply.type() == ResponseType.ERROR) {
+      if (errors == null) {
+        errors = new StringBuilder();
+      } else {
+        errors.append(System.lineSeparator());
+      }
+      String cause = reply.toString();
+      if (cause != null && cause.startsWith("ERR ")) {
+        // strip the ERR prefix
+        cause = cause.substring(4);
+      }
+      // the message rewrite is just to comply to the redis error message contract
+      errors.append("ERR [").append(index).append("] ").append(cause);
+    } else {
+      replies[index] = reply;
+    }
+
+    if (taken < size) {
+      return true;
+    }
+    // all results have arrived
+    return errors != null ?
+      promise.tryFail(ErrorType.create(errors.toString())) :
+      promise.tryComplete(Arrays.asList(replies));
+  }
+
+  void fail(Throwable t) {
+    if (stream != null) {
+      stream.fail(t);
+    } else {
+      promise.tryFail(t);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return stream != null ? stream.toString() : promise.toString();
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client.impl;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.redis.client.Response;
+import io.vertx.redis.client.ResponseType;
+
+/**
+ * A bulk reply delivered in chunks, as they are parsed, instead of being aggregated in memory.
+ */
+public final class BulkReadStream extends ReplyReadStream<Buffer> {
+
+  /**
+   * Wraps a reply that has been received in full as a stream of a single chunk.
+   *
+   * @param reply a bulk reply or {@code null}
+   * @return a stream that is already ended
+   */
+  public static ReadStream<Buffer> of(@Nullable Response reply) {
+    return new BulkReadStream(null, null, null).completed(reply);
+  }
+
+  BulkReadStream(ContextInternal context, RedisStandaloneConnection connection, Promise<ReadStream<Buffer>> promise) {
+    super(context, connection, promise);
+  }
+
+  @Override
+  void aggregated(Response response) {
+    if (response.type() != ResponseType.BULK) {
+      throw new IllegalStateException("Reply is not a Bulk type: " + response.type());
+    }
+    write(response.toBuffer());
+  }
+}
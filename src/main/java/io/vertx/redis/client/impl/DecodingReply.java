@@ -0,0 +1,280 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.redis.client.ReplyDecoder;
+import io.vertx.redis.client.Response;
+import io.vertx.redis.client.impl.types.MultiType;
+
+import java.math.BigInteger;
+
+/**
+ * A reply decoded by a user {@link ReplyDecoder} as it is parsed.
+ * <p>
+ * The events are forwarded to the user decoder until it throws, in that case the request fails with the
+ * thrown exception, the parser is never interrupted.
+ * <p>
+ * Not thread safe, all the state is accessed from the connection context.
+ */
+public final class DecodingReply<T> implements ReplyDecoder<T> {
+
+  /**
+   * Replays a reply that has been received in full to the given decoder.
+   *
+   * @return the decoded value
+   */
+  public static <T> T decode(Response reply, ReplyDecoder<T> decoder) {
+    replay(reply, decoder);
+    return decoder.result();
+  }
+
+  private static void replay(Response reply, ReplyDecoder<?> decoder) {
+    if (reply == null) {
+      decoder.nil();
+      return;
+    }
+
+    switch (reply.type()) {
+      case BULK:
+        decoder.bulk(reply.toBuffer());
+        break;
+      case SIMPLE:
+        decoder.simpleString(reply.toString());
+        break;
+      case ERROR:
+        decoder.error(reply.toString());
+        break;
+      case BOOLEAN:
+        decoder.bool(reply.toBoolean());
+        break;
+      case NUMBER:
+        final Number number = reply.toNumber();
+        if (number instanceof Double) {
+          decoder.decimal(number.doubleValue());
+        } else if (number instanceof BigInteger) {
+          decoder.bigInteger((BigInteger) number);
+        } else {
+          decoder.integer(number.longValue());
+        }
+        break;
+      case MULTI:
+        if (reply.isMap()) {
+          // the keys and values of the map are elements of the multi
+          decoder.beginMap(reply.size() / 2);
+          for (int i = 0; i < reply.size(); i++) {
+            replay(((MultiType) reply).element(i), decoder);
+          }
+        } else {
+          decoder.beginArray(reply.size());
+          for (int i = 0; i < reply.size(); i++) {
+            replay(reply.get(i), decoder);
+          }
+        }
+        decoder.endAggregate();
+        break;
+      default:
+        // push and attribute, never the reply of a request
+        throw new IllegalStateException("Cannot decode reply of type: " + reply.type());
+    }
+  }
+
+  private final ReplyDecoder<T> decoder;
+  private final Promise<T> promise;
+  // completed when the reply is not decoded by the parser (errors)
+  private final Promise<Response> reply;
+  private Throwable failure;
+
+  DecodingReply(ContextInternal context, ReplyDecoder<T> decoder, Promise<T> promise) {
+    this.decoder = decoder;
+    this.promise = promise;
+    this.reply = context.promise();
+    this.reply.future().onComplete(ar -> handleReply(ar));
+  }
+
+  /**
+   * The promise to be completed when the reply is received in full.
+   */
+  Promise<Response> reply() {
+    return reply;
+  }
+
+  private void handleReply(AsyncResult<Response> ar) {
+    if (ar.failed()) {
+      promise.tryFail(ar.cause());
+      return;
+    }
+    try {
+      replay(ar.result(), this);
+    } catch (RuntimeException e) {
+      fail(e);
+    }
+    complete();
+  }
+
+  /**
+   * Called once the whole reply has been delivered.
+   */
+  void complete() {
+    if (failure != null) {
+      promise.tryFail(failure);
+      return;
+    }
+    final T result;
+    try {
+      result = decoder.result();
+    } catch (RuntimeException e) {
+      promise.tryFail(e);
+      return;
+    }
+    promise.tryComplete(result);
+  }
+
+  void fail(Throwable t) {
+    if (failure == null) {
+      failure = t;
+    }
+  }
+
+  @Override
+  public void beginArray(int length) {
+    if (failure == null) {
+      try {
+        decoder.beginArray(length);
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+    }
+  }
+
+  @Override
+  public void beginMap(int length) {
+    if (failure == null) {
+      try {
+        decoder.beginMap(length);
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+    }
+  }
+
+  @Override
+  public void endAggregate() {
+    if (failure == null) {
+      try {
+        decoder.endAggregate();
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+    }
+  }
+
+  @Override
+  public void bulk(Buffer value) {
+    if (failure == null) {
+      try {
+        decoder.bulk(value);
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+    }
+  }
+
+  @Override
+  public void simpleString(String value) {
+    if (failure == null) {
+      try {
+        decoder.simpleString(value);
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+    }
+  }
+
+  @Override
+  public void error(String value) {
+    if (failure == null) {
+      try {
+        decoder.error(value);
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+    }
+  }
+
+  @Override
+  public void integer(long value) {
+    if (failure == null) {
+      try {
+        decoder.integer(value);
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+    }
+  }
+
+  @Override
+  public void decimal(double value) {
+    if (failure == null) {
+      try {
+        decoder.decimal(value);
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+    }
+  }
+
+  @Override
+  public void bigInteger(BigInteger value) {
+    if (failure == null) {
+      try {
+        decoder.bigInteger(value);
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+    }
+  }
+
+  @Override
+  public void bool(boolean value) {
+    if (failure == null) {
+      try {
+        decoder.bool(value);
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+    }
+  }
+
+  @Override
+  public void nil() {
+    if (failure == null) {
+      try {
+        decoder.nil();
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+    }
+  }
+
+  @Override
+  public T result() {
+    return decoder.result();
+  }
+}
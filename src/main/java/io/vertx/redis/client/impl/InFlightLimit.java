@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client.impl;
+
+/**
+ * A limit of the commands in flight on a connection, adapted to the observed latency. The limit shrinks
+ * when the latency of a reply grows above the lowest latency observed so far (the commands are queuing
+ * on the server or in the network) and grows back otherwise.
+ * <p>
+ * Not thread safe, the limit is confined to the connection context, just like the waiting queue.
+ */
+final class InFlightLimit {
+
+  // latencies below this ratio of the lowest latency are not considered queuing
+  private static final double TOLERANCE = 2.0;
+  // the lowest latency is forgotten after this many samples, so the limit follows changes of the server
+  private static final int MIN_LATENCY_WINDOW = 1000;
+
+  private final int max;
+  private double limit;
+  private long minLatency = Long.MAX_VALUE;
+  private int samples;
+
+  // send times of the commands in flight, in the order of the waiting queue
+  private long[] sent = new long[16];
+  private int front;
+  private int cur;
+
+  InFlightLimit(int max) {
+    this.max = Math.max(1, max);
+    this.limit = this.max;
+  }
+
+  /**
+   * The current limit, never less than 1.
+   */
+  int current() {
+    return (int) limit;
+  }
+
+  /**
+   * Records the send time of the given number of commands.
+   */
+  void sent(int count) {
+    final long now = System.nanoTime();
+    for (int i = 0; i < count; i++) {
+      if (cur == sent.length) {
+        grow();
+      }
+      int back = front + cur;
+      if (back >= sent.length) {
+        back -= sent.length;
+      }
+      sent[back] = now;
+      cur++;
+    }
+  }
+
+  /**
+   * Samples the latency of the oldest command in flight, which has just been replied.
+   */
+  void replied() {
+    if (cur == 0) {
+      return;
+    }
+    final long latency = Math.max(1, System.nanoTime() - sent[front]);
+    if (++front == sent.length) {
+      front = 0;
+    }
+    cur--;
+
+    if (++samples == MIN_LATENCY_WINDOW) {
+      samples = 0;
+      minLatency = latency;
+    } else if (latency < minLatency) {
+      minLatency = latency;
+    }
+
+    final double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * minLatency / latency));
+    // the square root allows some queuing, so the limit keeps probing for more throughput
+    limit = Math.max(1.0, Math.min(max, limit * gradient + Math.sqrt(limit)));
+  }
+
+  /**
+   * Forgets the commands in flight, when they are all failed at once.
+   */
+  void clear() {
+    front = 0;
+    cur = 0;
+  }
+
+  private void grow() {
+    final long[] grown = new long[sent.length * 2];
+    final int head = sent.length - front;
+    System.arraycopy(sent, front, grown, 0, head);
+    System.arraycopy(sent, 0, grown, head, front);
+    sent = grown;
+    front = 0;
+  }
+}
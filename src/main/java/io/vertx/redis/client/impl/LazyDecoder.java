@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client.impl;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.redis.client.Response;
+import io.vertx.redis.client.impl.types.BooleanType;
+import io.vertx.redis.client.impl.types.BulkType;
+import io.vertx.redis.client.impl.types.ErrorType;
+import io.vertx.redis.client.impl.types.NumberType;
+import io.vertx.redis.client.impl.types.SimpleStringType;
+
+import java.math.BigInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Decodes the elements of a lazy multi from the raw bytes retained by the parser.
+ * <p>
+ * The parser only scans elements that are not aggregates, so each element is decoded straight from its slice of
+ * the raw bytes, without a parser. Bulk elements are views over the raw bytes, which are not shared.
+ */
+final class LazyDecoder implements IntFunction<Response> {
+
+  private final Buffer raw;
+  // start of each element in the raw bytes, followed by the end of the last element
+  private final int[] offsets;
+
+  LazyDecoder(Buffer raw, int[] offsets) {
+    this.raw = raw;
+    this.offsets = offsets;
+  }
+
+  @Override
+  public Response apply(int index) {
+    final int start = offsets[index];
+    // the line of the element, without the type and the \r\n
+    final int lineStart = start + 1;
+    final int lineEnd = lineEnd(lineStart, offsets[index + 1]);
+    try {
+      final byte type = raw.getByte(start);
+      switch (type) {
+        case '$':
+        case '=':
+          final int length = (int) readLong(lineStart, lineEnd);
+          if (length == -1) {
+            return null;
+          }
+          if (length == 0) {
+            return BulkType.EMPTY;
+          }
+          return BulkType.create(raw.slice(lineEnd + 2, lineEnd + 2 + length), type == '=');
+        case '+':
+          return SimpleStringType.create(raw.getString(lineStart, lineEnd, "ISO-8859-1"));
+        case '-':
+        case '!':
+          return ErrorType.create(raw.getString(lineStart, lineEnd, "ISO-8859-1"));
+        case ':':
+          return NumberType.create(readLong(lineStart, lineEnd));
+        case ',':
+          return NumberType.create(readDouble(raw.getString(lineStart, lineEnd, "US-ASCII")));
+        case '(':
+          return NumberType.create(new BigInteger(raw.getString(lineStart, lineEnd, "US-ASCII")));
+        case '_':
+          return null;
+        case '#':
+          return raw.getByte(lineStart) == 't' ? BooleanType.TRUE : BooleanType.FALSE;
+        default:
+          throw new IllegalStateException("Unknown RESP type " + (char) type);
+      }
+    } catch (RuntimeException e) {
+      throw new IllegalStateException("Cannot decode element " + index, e);
+    }
+  }
+
+  /**
+   * @return the index of the \r ending the line that starts at the given index
+   */
+  private int lineEnd(int from, int end) {
+    for (int i = from; i < end; i++) {
+      if (raw.getByte(i) == '\r') {
+        return i;
+      }
+    }
+    throw new IllegalStateException("Missing line end");
+  }
+
+  private long readLong(int start, int end) {
+    final boolean negative = raw.getByte(start) == '-';
+    // digits are accumulated as a negative value, so Long.MIN_VALUE can be represented
+    long value = 0;
+    for (int i = negative ? start + 1 : start; i < end; i++) {
+      final int digit = raw.getByte(i) - '0';
+      if (digit < 0 || digit > 9) {
+        throw new NumberFormatException("Not a digit " + (char) raw.getByte(i));
+      }
+      value = Math.subtractExact(Math.multiplyExact(value, 10), digit);
+    }
+    return negative ? value : Math.negateExact(value);
+  }
+
+  private static double readDouble(String value) {
+    switch (value) {
+      case "inf":
+        return Double.POSITIVE_INFINITY;
+      case "-inf":
+        return Double.NEGATIVE_INFINITY;
+      case "nan":
+      case "-nan":
+        return Double.NaN;
+      default:
+        return Double.parseDouble(value);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client.impl;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.core.Promise;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.redis.client.Response;
+import io.vertx.redis.client.ResponseType;
+import io.vertx.redis.client.impl.types.MultiType;
+
+/**
+ * An aggregate reply (array, set or map) delivered element by element, as they are parsed, instead of
+ * being aggregated in memory. Map entries are delivered as key/value pairs, just like when iterating
+ * over an aggregated map reply.
+ */
+public final class MultiReadStream extends ReplyReadStream<Response> {
+
+  /**
+   * Wraps a reply that has been received in full as a stream of its elements.
+   *
+   * @param reply an aggregate reply or {@code null}
+   * @return a stream that is already ended
+   */
+  public static ReadStream<Response> of(@Nullable Response reply) {
+    return new MultiReadStream(null, null, null).completed(reply);
+  }
+
+  // streaming state of map replies
+  private boolean map;
+  private boolean value;
+  private Response key;
+
+  MultiReadStream(ContextInternal context, RedisStandaloneConnection connection, Promise<ReadStream<Response>> promise) {
+    super(context, connection, promise);
+  }
+
+  @Override
+  void aggregated(Response response) {
+    if (response.type() != ResponseType.MULTI) {
+      throw new IllegalStateException("Reply is not a Multi type: " + response.type());
+    }
+    for (Response element : response) {
+      write(element);
+    }
+  }
+
+  void begin(boolean map) {
+    this.map = map;
+    begin();
+  }
+
+  void element(@Nullable Response element) {
+    if (map) {
+      if (!value) {
+        key = element;
+        value = true;
+        return;
+      }
+      element = MultiType.entry(key, element);
+      key = null;
+      value = false;
+    }
+    write(element);
+  }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.RedisConnection;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A fixed set of long-lived connections shared by the connection-less commands of a client. The commands are
+ * pipelined over the connections in turn, so no connection is leased from the pool per command.
+ * <p>
+ * A connection that ends or fails is dropped and replaced on the next command, error replies and failed commands
+ * leave it in use. A connection that reached its {@linkplain io.vertx.redis.client.PoolOptions#setMaxLifetime(long)
+ * maximum lifetime} is replaced as well. Thread safe.
+ */
+final class MultiplexedConnections {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MultiplexedConnections.class);
+
+  // commands that would hold back the commands pipelined after them, or change the state of the connection
+  private static final Set<Command> EXCLUSIVE = Set.of(
+    Command.BLPOP, Command.BRPOP, Command.BRPOPLPUSH, Command.BLMOVE, Command.BLMPOP,
+    Command.BZPOPMIN, Command.BZPOPMAX, Command.BZMPOP, Command.XREAD, Command.XREADGROUP,
+    Command.WAIT, Command.WAITAOF, Command.MONITOR, Command.SELECT, Command.AUTH,
+    Command.HELLO, Command.RESET, Command.CLIENT, Command.QUIT, Command.READONLY, Command.READWRITE,
+    Command.WATCH, Command.UNWATCH, Command.MULTI, Command.EXEC, Command.DISCARD);
+
+  private final VertxInternal vertx;
+  private final Supplier<Future<RedisConnection>> connector;
+  private final AtomicReferenceArray<Shared> connections;
+  private final AtomicInteger next = new AtomicInteger();
+  private volatile boolean closed;
+
+  MultiplexedConnections(VertxInternal vertx, int size, Supplier<Future<RedisConnection>> connector) {
+    this.vertx = vertx;
+    this.connector = connector;
+    this.connections = new AtomicReferenceArray<>(size);
+  }
+
+  /**
+   * Whether the given command can be pipelined over a shared connection.
+   */
+  static boolean accepts(Request request) {
+    final Command command = request.command();
+    // subscriptions put the connection in pub/sub mode
+    return !((CommandImpl) command).isPubSub() && !EXCLUSIVE.contains(command);
+  }
+
+  /**
+   * Whether the given batch can be written over a shared connection. A batch is written at once, so a transaction
+   * is accepted as long as each {@code WATCH} or {@code MULTI} is closed by {@code EXEC} or {@code DISCARD} in the
+   * same batch, the connection is then left as it was found.
+   */
+  static boolean accepts(List<Request> requests) {
+    boolean open = false;
+    for (Request request : requests) {
+      final Command command = request.command();
+      if (command == Command.WATCH || command == Command.MULTI) {
+        open = true;
+      } else if (command == Command.EXEC || command == Command.DISCARD) {
+        open = false;
+      } else if (command == Command.UNWATCH) {
+        // only within the transaction of this batch
+        if (!open) {
+          return false;
+        }
+      } else if (!accepts(request)) {
+        return false;
+      }
+    }
+    return !open;
+  }
+
+  Future<Response> send(Request request) {
+    return execute(conn -> conn.send(request));
+  }
+
+  Future<List<Response>> batch(List<Request> requests) {
+    return execute(conn -> conn.batch(requests));
+  }
+
+  private <T> Future<T> execute(Function<RedisConnection, Future<T>> command) {
+    final int index = Math.floorMod(next.getAndIncrement(), connections.length());
+    final Shared shared = acquire(index);
+    if (shared == null) {
+      return vertx.getOrCreateContext().failedFuture("Client is closed");
+    }
+
+    if (shared.connection.succeeded()) {
+      // the usual case, the command is sent right away from the caller
+      return command.apply(shared.connection.result())
+        .andThen(ar -> shared.release());
+    }
+
+    // so that the caller is called back on its original context
+    final Promise<T> promise = vertx.promise();
+    shared.connection
+      .compose(command)
+      .andThen(ar -> shared.release())
+      .onComplete(promise);
+    return promise.future();
+  }
+
+  /**
+   * Gets the connection of the given index, with a command in flight accounted on it.
+   */
+  private Shared acquire(int index) {
+    while (true) {
+      final Shared current = connections.get(index);
+      if (current != null && current.retired()) {
+        // replaced in the pool once it reached its maximum lifetime, so it is replaced here too
+        drop(index, current, false);
+        continue;
+      }
+      if (current != null && !current.connection.failed()) {
+        if (current.acquire()) {
+          return current;
+        }
+        // dropped in the meantime
+        continue;
+      }
+      if (closed) {
+        return null;
+      }
+      final Promise<RedisConnection> promise = Promise.promise();
+      final Shared shared = new Shared(promise.future());
+      if (connections.compareAndSet(index, current, shared)) {
+        connector.get()
+          .onSuccess(conn -> conn
+            .endHandler(v -> drop(index, shared, true))
+            .exceptionHandler(err -> drop(index, shared, true)))
+          .onComplete(promise);
+      }
+      // else another caller replaced it in the meantime
+    }
+  }
+
+  /**
+   * Replaces a connection that has ended or was retired, the commands already sent on it are left to complete.
+   */
+  private void drop(int index, Shared shared, boolean broken) {
+    connections.compareAndSet(index, shared, null);
+    shared.drop(broken);
+  }
+
+  /**
+   * Returns the connections to the pool, they are closed along with it.
+   */
+  Future<Void> close() {
+    closed = true;
+    final List<Future<Void>> closing = new ArrayList<>(connections.length());
+    for (int i = 0; i < connections.length(); i++) {
+      final Shared shared = connections.getAndSet(i, null);
+      if (shared != null && shared.connection.succeeded()) {
+        closing.add(shared.connection.result().close());
+      }
+    }
+    return Future.join(closing).mapEmpty();
+  }
+
+  /**
+   * A shared connection and the number of commands in flight on it. Once dropped, the connection is released as
+   * soon as the commands in flight are completed: a retired connection is returned to the pool, which evicts it,
+   * a broken one is closed.
+   */
+  private static final class Shared {
+
+    // the drop flag is the lowest bit, the commands in flight are counted above it
+    private static final int DROPPED = 1;
+    private static final int COMMAND = 2;
+
+    final Future<RedisConnection> connection;
+    private final AtomicInteger state = new AtomicInteger();
+    private final AtomicBoolean evicted = new AtomicBoolean();
+    private volatile boolean broken;
+
+    Shared(Future<RedisConnection> connection) {
+      this.connection = connection;
+    }
+
+    boolean retired() {
+      if (connection.succeeded() && connection.result() instanceof PooledRedisConnection) {
+        final RedisConnectionInternal conn = ((PooledRedisConnection) connection.result()).actual();
+        return conn instanceof RedisStandaloneConnection && ((RedisStandaloneConnection) conn).isRetired();
+      }
+      return false;
+    }
+
+    boolean acquire() {
+      final int current = state.addAndGet(COMMAND);
+      if ((current & DROPPED) != 0) {
+        release();
+        return false;
+      }
+      return true;
+    }
+
+    void release() {
+      if (state.addAndGet(-COMMAND) == DROPPED) {
+        evict();
+      }
+    }
+
+    void drop(boolean broken) {
+      if (broken) {
+        this.broken = true;
+      }
+      int current;
+      do {
+        current = state.get();
+        if ((current & DROPPED) != 0) {
+          return;
+        }
+      } while (!state.compareAndSet(current, current | DROPPED));
+      if (current == 0) {
+        evict();
+      }
+    }
+
+    private void evict() {
+      // a late acquire, that is released right away, must not evict it again
+      if (evicted.compareAndSet(false, true) && connection.succeeded()) {
+        final RedisConnection conn = connection.result();
+        if (broken && conn instanceof PooledRedisConnection) {
+          ((PooledRedisConnection) conn).forceClose();
+        } else {
+          // a tainted connection is closed instead of being recycled
+          conn.close()
+            .onFailure(LOG::warn);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.util.ReferenceCountUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The encoded form of one or more requests, as written to the socket. Most of the data is copied to a single buffer,
+ * large arguments are referenced instead, interleaved with slices of that buffer, and streamed arguments split the
+ * message in parts that are written one after the other.
+ */
+final class OutboundMessage {
+
+  // holds the copied data, the part that is not yet in a composite is unread
+  private final ByteBuf buffer;
+  // buffers and streams, in the order they are written
+  private final List<Object> parts = new ArrayList<>(1);
+  private CompositeByteBuf composite;
+
+  OutboundMessage(ByteBuf buffer) {
+    this.buffer = buffer;
+  }
+
+  /**
+   * Adds an argument by reference, after what has been encoded to the buffer so far.
+   */
+  void reference(ByteBuf payload) {
+    if (composite == null) {
+      composite = buffer.alloc().compositeBuffer(Integer.MAX_VALUE);
+    }
+    composite.addComponent(true, buffer.readRetainedSlice(buffer.readableBytes()));
+    composite.addComponent(true, payload);
+  }
+
+  /**
+   * Adds an argument that is streamed, after what has been encoded to the buffer so far.
+   */
+  void stream(StreamArgument argument) {
+    flush();
+    parts.add(argument);
+  }
+
+  /**
+   * @return the parts of the message, either {@link ByteBuf} or {@link StreamArgument}, the buffers are owned by the caller
+   */
+  List<Object> complete() {
+    if (parts.isEmpty() && composite == null) {
+      // the common case, all data is in the buffer
+      parts.add(buffer);
+      return parts;
+    }
+    flush();
+    // the parts hold their own references to the data
+    buffer.release();
+    return parts;
+  }
+
+  /**
+   * Releases the data of a message that won't be written.
+   */
+  void release() {
+    for (Object part : parts) {
+      ReferenceCountUtil.release(part);
+    }
+    if (composite != null) {
+      composite.release();
+    }
+    if (buffer.refCnt() > 0) {
+      buffer.release();
+    }
+  }
+
+  private void flush() {
+    if (buffer.isReadable()) {
+      if (composite == null) {
+        parts.add(buffer.readRetainedSlice(buffer.readableBytes()));
+        return;
+      }
+      composite.addComponent(true, buffer.readRetainedSlice(buffer.readableBytes()));
+    }
+    if (composite != null) {
+      parts.add(composite);
+      composite = null;
+    }
+  }
+}
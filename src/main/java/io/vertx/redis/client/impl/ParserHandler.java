@@ -15,6 +15,9 @@
  */
 package io.vertx.redis.client.impl;
 
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.redis.client.ReplyDecoder;
 import io.vertx.redis.client.Response;
 
 public interface ParserHandler {
@@ -22,4 +25,71 @@ public interface ParserHandler {
   void handle(Response response);
 
   void fail(Throwable t);
+
+  /**
+   * Called once the length of a top level bulk reply is known. When {@code true} is returned, the payload
+   * is not aggregated into a single response, instead it is delivered to {@link #bulkChunk(Buffer)} as it
+   * arrives, followed by a call to {@link #bulkEnd()}.
+   *
+   * @param length the length of the bulk payload
+   * @return {@code true} to stream the payload
+   */
+  default boolean bulkStart(int length) {
+    return false;
+  }
+
+  /**
+   * A chunk of a streamed bulk reply.
+   */
+  default void bulkChunk(Buffer chunk) {
+  }
+
+  /**
+   * The end of a streamed bulk reply.
+   */
+  default void bulkEnd() {
+  }
+
+  /**
+   * Called once the length of a top level aggregate reply is known. When {@code true} is returned, the
+   * elements are not aggregated into a single response, instead each one is delivered to
+   * {@link #multiElement(Response)} as soon as it is complete, followed by a call to {@link #multiEnd()}.
+   * Empty aggregates are never streamed.
+   *
+   * @param length the number of elements, for maps keys and values are counted individually
+   * @param map whether the aggregate is a map
+   * @return {@code true} to stream the elements
+   */
+  default boolean multiStart(long length, boolean map) {
+    return false;
+  }
+
+  /**
+   * An element of a streamed aggregate reply.
+   */
+  default void multiElement(Response element) {
+  }
+
+  /**
+   * The end of a streamed aggregate reply.
+   */
+  default void multiEnd() {
+  }
+
+  /**
+   * Called at the begin of each top level reply that is not an error, attribute or push. When a decoder is
+   * returned, the reply is delivered to it as events instead of being handled as a response, followed by a
+   * call to {@link #decodeEnd()}.
+   *
+   * @return the decoder of the reply or {@code null}
+   */
+  default @Nullable ReplyDecoder<?> decodeStart() {
+    return null;
+  }
+
+  /**
+   * The end of a decoded reply.
+   */
+  default void decodeEnd() {
+  }
 }
@@ -3,9 +3,12 @@ package io.vertx.redis.client.impl;
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.internal.pool.Lease;
 import io.vertx.core.spi.metrics.PoolMetrics;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.redis.client.RedisConnection;
+import io.vertx.redis.client.ReplyDecoder;
 import io.vertx.redis.client.Request;
 import io.vertx.redis.client.Response;
 
@@ -78,6 +81,30 @@ public class PooledRedisConnection implements RedisConnection {
       .andThen(reporter::after);
   }
 
+  @Override
+  public Future<ReadStream<Buffer>> sendBulkStream(Request command) {
+    CommandReporter reporter = new CommandReporter(connection, command.command().toString());
+    reporter.before();
+    return connection.sendBulkStream(command)
+      .andThen(reporter::after);
+  }
+
+  @Override
+  public Future<ReadStream<Response>> sendMultiStream(Request command) {
+    CommandReporter reporter = new CommandReporter(connection, command.command().toString());
+    reporter.before();
+    return connection.sendMultiStream(command)
+      .andThen(reporter::after);
+  }
+
+  @Override
+  public <T> Future<T> send(Request command, ReplyDecoder<T> decoder) {
+    CommandReporter reporter = new CommandReporter(connection, command.command().toString());
+    reporter.before();
+    return connection.send(command, decoder)
+      .andThen(reporter::after);
+  }
+
   @Override
   public Future<List<@Nullable Response>> batch(List<Request> commands) {
     CommandReporter reporter = new CommandReporter(connection, "batch");
@@ -86,6 +113,14 @@ public class PooledRedisConnection implements RedisConnection {
       .andThen(reporter::after);
   }
 
+  @Override
+  public Future<ReadStream<Response>> batchStream(List<Request> commands) {
+    CommandReporter reporter = new CommandReporter(connection, "batch");
+    reporter.before();
+    return connection.batchStream(commands)
+      .andThen(reporter::after);
+  }
+
   @Override
   public Future<Void> close() {
     if (connection.reset()) {
@@ -101,8 +136,32 @@ public class PooledRedisConnection implements RedisConnection {
     return Future.succeededFuture();
   }
 
+  /**
+   * Closes the connection instead of returning it to the pool, it is evicted from the pool once closed.
+   */
+  public void forceClose() {
+    connection.forceClose();
+
+    if (ended.compareAndSet(false, true)) {
+      if (metrics != null) {
+        metrics.end(metric);
+      }
+    }
+  }
+
   @Override
   public boolean pendingQueueFull() {
     return connection.pendingQueueFull();
   }
+
+  @Override
+  public boolean writeQueueFull() {
+    return connection.writeQueueFull();
+  }
+
+  @Override
+  public RedisConnection drainHandler(@Nullable Handler<Void> handler) {
+    connection.drainHandler(handler);
+    return this;
+  }
 }
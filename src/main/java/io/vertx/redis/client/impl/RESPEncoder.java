@@ -52,6 +52,21 @@ public final class RESPEncoder {
     return bytes;
   }
 
+  /**
+   * The length of the ASCII representation of the given value, without converting it.
+   */
+  public static int numLength(long value) {
+    if (value >= 0 && value < NUM_MAP_LENGTH) {
+      return NUM_MAP[(int) value].length;
+    }
+    // the sign takes a slot
+    int length = value < 0 ? 2 : 1;
+    while ((value /= 10) != 0) {
+      length++;
+    }
+    return length;
+  }
+
   // Optimized for the direct to ASCII bytes case
   // About 5x faster than using Long.toString.bytes
   public static byte[] numToBytes(long value) {
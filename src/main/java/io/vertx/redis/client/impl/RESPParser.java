@@ -17,6 +17,7 @@ package io.vertx.redis.client.impl;
 
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.redis.client.ReplyDecoder;
 import io.vertx.redis.client.Response;
 import io.vertx.redis.client.ResponseType;
 import io.vertx.redis.client.impl.types.AttributeType;
@@ -29,38 +30,83 @@ import io.vertx.redis.client.impl.types.NumberType;
 import io.vertx.redis.client.impl.types.PushType;
 import io.vertx.redis.client.impl.types.SimpleStringType;
 
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
 public final class RESPParser implements Handler<Buffer> {
 
   public static final String VERSION = "3";
 
   // 512Mb
   private static final long MAX_STRING_LENGTH = 536870912;
+  // when enabled, bulk replies are views over the received network buffers instead of copies
+  private static final boolean ZERO_COPY = Boolean.getBoolean("io.vertx.redis.parser.zeroCopy");
+  // when enabled, the elements of flat top level aggregates are only decoded when accessed
+  private static final boolean LAZY = Boolean.getBoolean("io.vertx.redis.parser.lazy");
+  // simple string replies that are shared instead of allocated
+  private static final SimpleStringType[] COMMON_SIMPLE_STRINGS = {
+    SimpleStringType.OK,
+    SimpleStringType.QUEUED,
+    SimpleStringType.PONG
+  };
+  private static final byte[][] COMMON_SIMPLE_STRINGS_BYTES = new byte[COMMON_SIMPLE_STRINGS.length][];
+
+  static {
+    for (int i = 0; i < COMMON_SIMPLE_STRINGS.length; i++) {
+      COMMON_SIMPLE_STRINGS_BYTES[i] = COMMON_SIMPLE_STRINGS[i].toString().getBytes(StandardCharsets.US_ASCII);
+    }
+  }
 
   // the callback when a full response message has been decoded
   private final ParserHandler handler;
   // a composite buffer to allow buffer concatenation as if it was
   // a long stream
-  private final ReadableBuffer buffer = new ReadableBuffer();
+  private final ReadableBuffer buffer;
   // arrays can have nested objects so we need to keep track of the
   // nesting while parsing
   private final ArrayStack stack;
+  private final boolean lazy;
+  // the remaining elements of the aggregates open in the reply being decoded
+  private final int[] levels;
 
   public RESPParser(ParserHandler handler, int maxStack) {
+    this(handler, maxStack, ZERO_COPY);
+  }
+
+  public RESPParser(ParserHandler handler, int maxStack, boolean zeroCopy) {
+    this(handler, maxStack, zeroCopy, LAZY);
+  }
+
+  public RESPParser(ParserHandler handler, int maxStack, boolean zeroCopy, boolean lazy) {
     this.handler = handler;
     this.stack = new ArrayStack(maxStack);
+    this.buffer = new ReadableBuffer(zeroCopy);
+    this.lazy = lazy;
+    this.levels = new int[maxStack];
   }
 
   // parser state machine state
   private boolean eol = true;
   private int bytesNeeded = 0;
   private boolean verbatim = false;
+  private boolean streaming = false;
+  // remaining elements of the top level aggregate being streamed
+  private long streamed = 0;
+  // offsets of the elements of the top level aggregate being scanned lazily, relative to the pinned start
+  private int[] offsets;
+  private int scanned;
+  private boolean scannedMap;
+  // the decoder of the top level reply being parsed, if any, events are delivered to it
+  // instead of building responses, except for attributes which are parsed on the stack
+  private ReplyDecoder<?> decoder;
+  private int depth = -1;
 
   @Override
   public void handle(Buffer chunk) {
     // add the chunk to the buffer
     buffer.append(chunk);
 
-    while (buffer.readableBytes() >= (eol ? 3 : bytesNeeded != -1 ? bytesNeeded + 2 : 0)) {
+    while (buffer.readableBytes() >= bytesRequired()) {
       // setup a rollback point
       buffer.mark();
 
@@ -85,6 +131,24 @@ public final class RESPParser implements Handler<Buffer> {
           break;
         }
 
+        if (offsets != null) {
+          if (scan(type, eol)) {
+            continue;
+          }
+          buffer.reset();
+          if (offsets != null) {
+            // not enough data yet
+            break;
+          }
+          // the aggregate cannot be decoded lazily, the element is parsed again as usual
+          continue;
+        }
+
+        // errors fail the request and attributes are not part of the reply, they are never decoded
+        if (decoder == null && stack.empty() && streamed == 0 && type != '-' && type != '!' && type != '|' && type != '>') {
+          decoder = handler.decodeStart();
+        }
+
         switch (type) {
           case '+':
             handleSimpleString(start, eol);
@@ -126,6 +190,38 @@ public final class RESPParser implements Handler<Buffer> {
             handler.fail(ErrorType.create("ILLEGAL_STATE Unknown RESP type " + (char) type));
             return;
         }
+      } else if (streaming) {
+        if (bytesNeeded > 0) {
+          // deliver whatever is available, the payload is never aggregated
+          final int available = Math.min(bytesNeeded, buffer.readableBytes());
+          bytesNeeded -= available;
+          handler.bulkChunk(buffer.readBytes(available));
+        } else if (buffer.skipEOL()) {
+          // switch back to eol parsing
+          streaming = false;
+          eol = true;
+          handler.bulkEnd();
+        } else {
+          // operation failed
+          buffer.reset();
+        }
+      } else if (decoding()) {
+        Buffer bytes = bytesNeeded == 0 ? Buffer.buffer() : buffer.readBytes(bytesNeeded);
+        if (verbatim) {
+          // skip the format
+          bytes = bytes.slice(4, bytes.length());
+          verbatim = false;
+        }
+        decoder.bulk(bytes);
+        decoded();
+        // clean up the buffer, skip to the last \r\n
+        if (buffer.skipEOL()) {
+          // switch back to eol parsing
+          eol = true;
+        } else {
+          // operation failed
+          buffer.reset();
+        }
       } else {
         // empty string
         if (bytesNeeded == 0) {
@@ -149,16 +245,35 @@ public final class RESPParser implements Handler<Buffer> {
     }
   }
 
+  private int bytesRequired() {
+    if (eol) {
+      // type, at least 1 byte and \r\n
+      return 3;
+    }
+    if (streaming) {
+      // any data can be delivered, or the final \r\n
+      return bytesNeeded > 0 ? 1 : 2;
+    }
+    return bytesNeeded != -1 ? bytesNeeded + 2 : 0;
+  }
+
   private void handleNumber(byte type, int eol) {
     switch (type) {
       case ':':
-        handleResponse(NumberType.create(buffer.readNumber(eol, ReadableBuffer.NumericType.INTEGER)), false);
+        // parsed in place, small values are cached
+        handleLong(buffer.readLong(eol));
         break;
       case ',':
-        handleResponse(NumberType.create(buffer.readNumber(eol, ReadableBuffer.NumericType.DECIMAL)), false);
+        handleDouble(buffer.readNumber(eol, ReadableBuffer.NumericType.DECIMAL).doubleValue());
         break;
       case '(':
-        handleResponse(NumberType.create(buffer.readNumber(eol, ReadableBuffer.NumericType.BIGINTEGER)), false);
+        final Number number = buffer.readNumber(eol, ReadableBuffer.NumericType.BIGINTEGER);
+        if (decoding()) {
+          decoder.bigInteger((BigInteger) number);
+          decoded();
+        } else {
+          handleResponse(NumberType.create(number), false);
+        }
         break;
       default:
         handler.fail(new NumberFormatException("Invalid REDIS format: [" + (char) type + "]"));
@@ -166,6 +281,36 @@ public final class RESPParser implements Handler<Buffer> {
     }
   }
 
+  private void handleLong(long value) {
+    if (decoding()) {
+      decoder.integer(value);
+      decoded();
+      return;
+    }
+    final Multi multi = stack.peek();
+    // numeric arrays keep their elements as primitives
+    if (multi instanceof MultiType && ((MultiType) multi).add(value)) {
+      handleComplete(multi);
+    } else {
+      handleResponse(NumberType.create(value), false);
+    }
+  }
+
+  private void handleDouble(double value) {
+    if (decoding()) {
+      decoder.decimal(value);
+      decoded();
+      return;
+    }
+    final Multi multi = stack.peek();
+    // numeric arrays keep their elements as primitives
+    if (multi instanceof MultiType && ((MultiType) multi).add(value)) {
+      handleComplete(multi);
+    } else {
+      handleResponse(NumberType.create(value), false);
+    }
+  }
+
   private long handleLength(int eol) {
     final long integer = buffer.readLong(eol);
 
@@ -179,7 +324,7 @@ public final class RESPParser implements Handler<Buffer> {
     if (integer < 0) {
       if (integer == -1L) {
         // this is a NULL array
-        handleResponse(null, false);
+        handleNil();
         return -1;
       }
       // other negative values are not valid
@@ -196,6 +341,8 @@ public final class RESPParser implements Handler<Buffer> {
       if (len == 0L) {
         // push always have 1 entry
         handler.fail(ErrorType.create("ILLEGAL_STATE Redis Push must have at least 1 element"));
+      } else if (decoding()) {
+        beginAggregate(false, len);
       } else {
         handleResponse(PushType.create(len), true);
       }
@@ -219,28 +366,53 @@ public final class RESPParser implements Handler<Buffer> {
     switch (value) {
       case 't':
         buffer.skipEOL();
-        handleResponse(BooleanType.TRUE, false);
+        handleBoolean(true);
         break;
       case 'f':
         buffer.skipEOL();
-        handleResponse(BooleanType.FALSE, false);
+        handleBoolean(false);
         break;
       default:
         handler.fail(ErrorType.create("Invalid boolean value: " + ((char) value)));
     }
   }
 
-  private void handleSimpleString(int start, int eol) {
-    final int length = eol - start;
-    // special case OK
-    if (length == 2 && buffer.getByte(start) == 'O' && buffer.getByte(start + 1) == 'K') {
-      handleResponse(SimpleStringType.OK, false);
+  private void handleBoolean(boolean value) {
+    if (decoding()) {
+      decoder.bool(value);
+      decoded();
     } else {
-      handleResponse(SimpleStringType.create(buffer.readLine(eol)), false);
+      handleResponse(value ? BooleanType.TRUE : BooleanType.FALSE, false);
+    }
+  }
+
+  private void handleSimpleString(int start, int eol) {
+    if (decoding()) {
+      decoder.simpleString(buffer.readLine(eol));
+      decoded();
+      return;
+    }
+    // the line length, without \r
+    final int length = eol - start - 1;
+    // frequent replies are shared
+    for (int i = 0; i < COMMON_SIMPLE_STRINGS.length; i++) {
+      final byte[] bytes = COMMON_SIMPLE_STRINGS_BYTES[i];
+      if (length == bytes.length && buffer.matches(start, bytes)) {
+        buffer.skip(eol + 1 - start);
+        handleResponse(COMMON_SIMPLE_STRINGS[i], false);
+        return;
+      }
     }
+    handleResponse(SimpleStringType.create(buffer.readLine(eol)), false);
   }
 
   private void handleError(int eol) {
+    if (decoding()) {
+      // an element, errors replies are never decoded
+      decoder.error(buffer.readLine(eol));
+      decoded();
+      return;
+    }
     handleResponse(ErrorType.create(buffer.readLine(eol)), false);
   }
 
@@ -257,6 +429,8 @@ public final class RESPParser implements Handler<Buffer> {
       // in this case we switch from eol parsing to fixed len parsing
       this.eol = false;
       this.verbatim = verbatim;
+      // top level replies may be streamed to the handler instead of aggregated
+      this.streaming = decoder == null && !verbatim && stack.empty() && streamed == 0 && handler.bulkStart(bytesNeeded);
     }
   }
 
@@ -265,19 +439,137 @@ public final class RESPParser implements Handler<Buffer> {
     long len = handleLength(eol);
 
     if (len >= 0L) {
-      // empty arrays can be cached and require no further processing
-      if (len == 0L) {
+      if (decoding()) {
+        beginAggregate(type == '%', len);
+      } else if (len == 0L) {
+        // empty arrays can be cached and require no further processing
         handleResponse(type == '%' ? MultiType.EMPTY_MAP : MultiType.EMPTY_MULTI, false);
+      } else if (stack.empty() && streamed == 0 && handler.multiStart(type == '%' ? len * 2 : len, type == '%')) {
+        // top level elements are emitted as they complete, nothing is pushed to the stack
+        streamed = type == '%' ? len * 2 : len;
+      } else if (lazy && stack.empty() && streamed == 0) {
+        // elements are only located now and decoded when accessed
+        offsets = new int[(int) (type == '%' ? len * 2 : len) + 1];
+        scanned = 0;
+        scannedMap = type == '%';
+        buffer.pin();
       } else {
         handleResponse(MultiType.create(len, type == '%'), true);
       }
     }
   }
 
+  /**
+   * Locates the end of an element of the aggregate being scanned lazily.
+   *
+   * @return {@code true} when the element was scanned, otherwise either more data is needed or the scan was abandoned
+   */
+  private boolean scan(byte type, int eol) {
+    switch (type) {
+      case '$':
+      case '=':
+        final long len = buffer.readLong(eol);
+        if (len >= 0L && len <= MAX_STRING_LENGTH) {
+          if (buffer.readableBytes() < len + 2) {
+            return false;
+          }
+          buffer.skip((int) len + 2);
+        } else if (len != -1L) {
+          // invalid, let the regular parsing report it
+          abandonScan();
+          return false;
+        }
+        break;
+      case '+':
+      case '-':
+      case '!':
+      case ':':
+      case ',':
+      case '(':
+      case '_':
+      case '#':
+        // the element is the line
+        buffer.skip(eol + 1 - buffer.offset());
+        break;
+      default:
+        // nested aggregates (and unknown types) are parsed as usual
+        abandonScan();
+        return false;
+    }
+
+    offsets[++scanned] = buffer.offset() - buffer.pinned();
+    if (scanned == offsets.length - 1) {
+      final int[] elements = offsets;
+      final Buffer raw = buffer.getBytes(buffer.pinned(), elements[scanned]);
+      offsets = null;
+      buffer.unpin();
+      handleResponse(MultiType.lazy(scanned, scannedMap, new LazyDecoder(raw, elements)), false);
+    }
+    return true;
+  }
+
+  private void abandonScan() {
+    final int[] elements = offsets;
+    offsets = null;
+    final int len = elements.length - 1;
+    final MultiType multi = MultiType.create(scannedMap ? len / 2 : len, scannedMap);
+    // the elements scanned so far are decoded now
+    if (scanned > 0) {
+      final LazyDecoder decoder = new LazyDecoder(buffer.getBytes(buffer.pinned(), elements[scanned]), elements);
+      for (int i = 0; i < scanned; i++) {
+        multi.add(decoder.apply(i));
+      }
+    }
+    buffer.unpin();
+    // continue as a regular aggregate
+    stack.push(multi);
+  }
+
   private void handleNull() {
     // clean up the buffer, skip to the last \r\n
     buffer.skipEOL();
-    handleResponse(null, false);
+    handleNil();
+  }
+
+  private void handleNil() {
+    if (decoding()) {
+      decoder.nil();
+      decoded();
+    } else {
+      handleResponse(null, false);
+    }
+  }
+
+  private boolean decoding() {
+    // attributes are parsed on the stack, even while decoding
+    return decoder != null && stack.empty();
+  }
+
+  private void beginAggregate(boolean map, long len) {
+    if (map) {
+      decoder.beginMap((int) len);
+    } else {
+      decoder.beginArray((int) len);
+    }
+    if (len == 0L) {
+      decoder.endAggregate();
+      decoded();
+    } else {
+      // keys and values of maps are elements on their own
+      levels[++depth] = (int) (map ? len * 2 : len);
+    }
+  }
+
+  private void decoded() {
+    // the element may complete the aggregates it belongs to
+    while (depth >= 0 && --levels[depth] == 0) {
+      depth--;
+      decoder.endAggregate();
+    }
+    if (depth == -1) {
+      decoder = null;
+      handler.decodeEnd();
+    }
   }
 
   private void handleResponse(Response response, boolean push) {
@@ -290,29 +582,7 @@ public final class RESPParser implements Handler<Buffer> {
       if (push) {
         stack.push(response);
       } else {
-        // break the chain and verify end condition
-        Multi m = multi;
-        // clean up complete messages
-        while (m.complete()) {
-          stack.pop();
-
-          // in case of chaining we need to take into account
-          // if the stack is empty or not
-          if (stack.empty()) {
-            if (m.type() != ResponseType.ATTRIBUTE) {
-              // handle the multi to the listener
-              handler.handle(m);
-            }
-            return;
-          }
-          // peek into the next entry
-          m = stack.peek();
-
-          if (m == null) {
-            handler.fail(ErrorType.create("ILLEGAL_STATE Multi can't be null"));
-            return;
-          }
-        }
+        handleComplete(multi);
       }
     } else {
       if (push) {
@@ -321,8 +591,45 @@ public final class RESPParser implements Handler<Buffer> {
         // there's nothing on the stack
         // so we can handle the response directly
         // to the listener
-        handler.handle(response);
+        emit(response);
       }
     }
   }
+
+  private void handleComplete(Multi multi) {
+    // break the chain and verify end condition
+    Multi m = multi;
+    // clean up complete messages
+    while (m.complete()) {
+      stack.pop();
+
+      // in case of chaining we need to take into account
+      // if the stack is empty or not
+      if (stack.empty()) {
+        if (m.type() != ResponseType.ATTRIBUTE) {
+          // handle the multi to the listener
+          emit(m);
+        }
+        return;
+      }
+      // peek into the next entry
+      m = stack.peek();
+
+      if (m == null) {
+        handler.fail(ErrorType.create("ILLEGAL_STATE Multi can't be null"));
+        return;
+      }
+    }
+  }
+
+  private void emit(Response response) {
+    if (streamed > 0) {
+      handler.multiElement(response);
+      if (--streamed == 0) {
+        handler.multiEnd();
+      }
+    } else {
+      handler.handle(response);
+    }
+  }
 }
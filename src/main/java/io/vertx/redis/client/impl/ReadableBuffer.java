@@ -15,11 +15,16 @@
  */
 package io.vertx.redis.client.impl;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.internal.buffer.BufferInternal;
 
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 final class ReadableBuffer {
 
@@ -30,53 +35,81 @@ final class ReadableBuffer {
   }
 
   // limit of integer parsing before overflowing
-  private static final long MAX_INTEGER_DIV_10 = Long.MAX_VALUE / 10;
+  private static final long MIN_INTEGER_DIV_10 = Long.MIN_VALUE / 10;
   private static final int MARK_WATERMARK = Integer.getInteger("io.vertx.redis.parser.watermark", 16 * 1024);
 
-  private Buffer buffer;
+  // when true, bulk reads are slices of the received data instead of copies
+  private final boolean zeroCopy;
+
+  // the received chunks are kept as components of a composite buffer, reads that
+  // cross chunk boundaries are resolved by the composite, chunks are never merged
+  private final CompositeByteBuf buffer = Unpooled.compositeBuffer(Integer.MAX_VALUE);
   private int offset;
 
   private int mark;
+  // start of data that must be kept, even if already read, -1 when nothing is pinned
+  private int pinned = -1;
+
+  // a line that is split across chunks is searched again once more data arrives, the
+  // search resumes where the previous one for the same line start stopped
+  private int scanStart = -1;
+  private int scanEnd;
+
+  ReadableBuffer() {
+    this(false);
+  }
+
+  ReadableBuffer(boolean zeroCopy) {
+    this.zeroCopy = zeroCopy;
+  }
 
   void append(Buffer chunk) {
-    // either the buffer is null or all read
-    if (buffer == null || Math.min(mark, offset) == buffer.length()) {
-      buffer = chunk;
-      offset = 0;
+    if (chunk.length() == 0) {
       return;
     }
 
-    // slice the buffer discarding the read bytes
-    if (
-      // the offset (read operations) must be further than the last checkpoint
-      offset >= mark &&
-        // there must be already read more than water mark
-        mark > MARK_WATERMARK &&
-        // and there are more bytes to read already
-        buffer.length() > mark) {
-
-      // clean up when there's too much data
-      buffer = buffer.getBuffer(mark, buffer.length());
-      offset -= mark;
-      mark = 0;
+    final int consumed = pinned == -1 ? Math.min(mark, offset) : Math.min(pinned, Math.min(mark, offset));
+
+    // discard the chunks that have been fully read, either all data is read
+    // or there was already read more than water mark
+    if (consumed > 0 && (consumed == buffer.writerIndex() || consumed > MARK_WATERMARK)) {
+      buffer.readerIndex(consumed);
+      // only whole components are removed, no data is copied
+      buffer.discardReadComponents();
+      final int discarded = consumed - buffer.readerIndex();
+      offset -= discarded;
+      mark -= discarded;
+      if (pinned != -1) {
+        pinned -= discarded;
+      }
+      if (scanStart != -1) {
+        scanStart -= discarded;
+        scanEnd -= discarded;
+      }
     }
 
-    buffer.appendBuffer(chunk);
+    buffer.addComponent(true, ((BufferInternal) chunk).getByteBuf());
   }
 
   int findLineEnd() {
-    int index = -1;
-    for (int i = offset; i < buffer.length(); i++) {
-      if (buffer.getByte(i) == '\n') {
-        index = i;
-        break;
-      }
+    // the bytes before scanEnd are known not to contain a '\n' when the line start is unchanged
+    final int from = offset == scanStart ? scanEnd : offset;
+    final int writerIndex = buffer.writerIndex();
+    // ByteBuf#indexOf scans each chunk in bulk instead of a bounds checked byte at a time
+    final int index = from < writerIndex ? buffer.indexOf(from, writerIndex, (byte) '\n') : -1;
+
+    if (index == -1) {
+      scanStart = offset;
+      scanEnd = writerIndex;
+      return -1;
     }
 
+    scanStart = -1;
     return (index > 0 && buffer.getByte(index - 1) == '\r') ? index : -1;
   }
 
   long readLong(int end) {
+    // digits are accumulated as a negative value, so Long.MIN_VALUE can be represented
     long value = 0;
 
     boolean negative = buffer.getByte(this.offset) == '-';
@@ -84,7 +117,7 @@ final class ReadableBuffer {
     int offset = negative ? this.offset + 1 : this.offset;
 
     while (offset < end - 1) {
-      if (value > MAX_INTEGER_DIV_10) {
+      if (value < MIN_INTEGER_DIV_10) {
         throw new ArithmeticException("Overflow");
       }
 
@@ -94,9 +127,18 @@ final class ReadableBuffer {
         throw new IllegalStateException("Not a digit " + (char) digit);
       }
 
-      value = value * 10 - digit;
+      value *= 10;
+      if (value < Long.MIN_VALUE + digit) {
+        throw new ArithmeticException("Overflow");
+      }
+      value -= digit;
+    }
+    if (!negative) {
+      if (value == Long.MIN_VALUE) {
+        throw new ArithmeticException("Overflow");
+      }
+      value = -value;
     }
-    if (!negative) value = -value;
     this.offset = end + 1;
     return value;
   }
@@ -105,7 +147,8 @@ final class ReadableBuffer {
     Number number = null;
 
     if (end >= offset) {
-      byte[] bytes = buffer.getBytes(offset, end - 1);
+      byte[] bytes = new byte[end - 1 - offset];
+      buffer.getBytes(offset, bytes);
       switch (type) {
         case INTEGER:
           number = Long.parseLong(new String(bytes, StandardCharsets.US_ASCII));
@@ -134,26 +177,48 @@ final class ReadableBuffer {
   }
 
   @Nullable String readLine(int end) {
-    byte[] bytes = null;
+    String line = null;
     if (end >= offset) {
-      bytes = buffer.getBytes(offset, end - 1);
+      // decoded straight from the chunks, no intermediate byte[]
+      line = buffer.toString(offset, end - 1 - offset, StandardCharsets.ISO_8859_1);
       offset = end + 1;
     }
-    if (bytes != null) {
-      return new String(bytes, StandardCharsets.ISO_8859_1);
-    }
-    return null;
+    return line;
   }
 
   Buffer readBytes(int count) {
     Buffer bytes = null;
-    if (buffer.length() - offset >= count) {
-      bytes = buffer.getBuffer(offset, offset + count);
+    if (buffer.writerIndex() - offset >= count) {
+      bytes = getBytes(offset, count);
       offset += count;
     }
     return bytes;
   }
 
+  /**
+   * The given range, a copy or a view depending on the zero copy setting. The offset is not modified.
+   */
+  Buffer getBytes(int index, int count) {
+    if (zeroCopy) {
+      // slices of the chunks themselves (not of the composite) so the view stays
+      // valid once the chunks are discarded from this buffer, read-only as the chunks
+      // may hold other replies
+      final List<ByteBuf> slices = buffer.decompose(index, count);
+      if (slices.size() == 1) {
+        return BufferInternal.buffer(slices.get(0).asReadOnly());
+      } else {
+        return BufferInternal.buffer(Unpooled.wrappedBuffer(slices.size(), slices.toArray(new ByteBuf[0])).asReadOnly());
+      }
+    } else {
+      // a single copy, regardless of how many chunks hold the data
+      return BufferInternal.buffer(buffer.copy(index, count));
+    }
+  }
+
+  void skip(int count) {
+    offset += count;
+  }
+
   byte readByte() {
     return buffer.getByte(offset++);
   }
@@ -162,8 +227,23 @@ final class ReadableBuffer {
     return buffer.getByte(index);
   }
 
+  /**
+   * Compares the given bytes with the data at the given index, without copying.
+   */
+  boolean matches(int index, byte[] bytes) {
+    if (buffer.writerIndex() - index < bytes.length) {
+      return false;
+    }
+    for (int i = 0; i < bytes.length; i++) {
+      if (buffer.getByte(index + i) != bytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   int readableBytes() {
-    return buffer.length() - offset;
+    return buffer.writerIndex() - offset;
   }
 
   void mark() {
@@ -178,6 +258,21 @@ final class ReadableBuffer {
     return offset;
   }
 
+  /**
+   * Keeps the data from the current offset, even once read, until {@link #unpin()}.
+   */
+  void pin() {
+    pinned = offset;
+  }
+
+  void unpin() {
+    pinned = -1;
+  }
+
+  int pinned() {
+    return pinned;
+  }
+
   boolean skipEOL() {
     while (readableBytes() > 0) {
       byte b;
@@ -198,6 +293,6 @@ final class ReadableBuffer {
 
   @Override
   public String toString() {
-    return buffer != null ? buffer.toString() : "null";
+    return buffer.toString(0, buffer.writerIndex(), StandardCharsets.UTF_8);
   }
 }
@@ -90,6 +90,8 @@ public class RedisClusterConnection implements RedisConnection {
   final SharedSlots sharedSlots;
   private Slots lastSlots;
   private final Map<String, PooledRedisConnection> connections;
+  // installed on the node connections, including the ones opened later
+  private volatile Handler<Void> onDrain;
 
   // these fields are only used in `send()` and are ignored in `batch()`, because request batches
   // are always sent to a single node and so no extra support is necessary
@@ -226,7 +228,7 @@ public class RedisClusterConnection implements RedisConnection {
     if (cmd.needsGetKeys()) {
       // it is required to resolve the keys at the server side as we cannot deduct where they are algorithmically
       // we shall run this commands on the master node always
-      send(selectEndpoint(slots, -1, cmd.isReadOnly(args), true), RETRIES, req, promise);
+      send(selectEndpoint(slots, -1, req.readOnly(), true), RETRIES, req, promise);
       return promise.future();
     }
 
@@ -243,7 +245,7 @@ public class RedisClusterConnection implements RedisConnection {
             String[] endpoints = slots.endpointsForSlot(i);
 
             final Promise<Response> p = vertx.promise();
-            send(selectMasterOrReplicaEndpoint(cmd.isReadOnly(args), endpoints, forceMasterEndpoint), RETRIES, req, p);
+            send(selectMasterOrReplicaEndpoint(req.readOnly(), endpoints, forceMasterEndpoint), RETRIES, req, p);
             responses.add(p.future());
           }
 
@@ -262,12 +264,12 @@ public class RedisClusterConnection implements RedisConnection {
           });
         } else {
           // it doesn't matter which node to use
-          send(selectEndpoint(slots, -1, cmd.isReadOnly(args), forceMasterEndpoint), RETRIES, req, promise);
+          send(selectEndpoint(slots, -1, req.readOnly(), forceMasterEndpoint), RETRIES, req, promise);
         }
         return promise.future();
       case 1:
         // trivial option the command is single key
-        send(selectEndpoint(slots, ZModem.generate(keys.get(0)), cmd.isReadOnly(args), forceMasterEndpoint), RETRIES, req, promise);
+        send(selectEndpoint(slots, ZModem.generate(keys.get(0)), req.readOnly(), forceMasterEndpoint), RETRIES, req, promise);
         return promise.future();
       default:
         // hashSlot -1 indicates that not all keys of the command targets the same hash slot,
@@ -296,7 +298,7 @@ public class RedisClusterConnection implements RedisConnection {
           int i = 0;
           for (RequestWithSlotNumber rwsn : groupedRequests) {
             final Promise<Response> p = vertx.promise();
-            send(selectEndpoint(slots, rwsn.slot, cmd.isReadOnly(args), forceMasterEndpoint), RETRIES, rwsn.request, p);
+            send(selectEndpoint(slots, rwsn.slot, req.readOnly(), forceMasterEndpoint), RETRIES, rwsn.request, p);
             responses.add(p.future());
 
             responsePositions.put(i, rwsn.includedArguments);
@@ -321,7 +323,7 @@ public class RedisClusterConnection implements RedisConnection {
         } else {
           // all keys are in same slot
           String[] endpoints = slots.endpointsForKey(hashSlot);
-          send(selectMasterOrReplicaEndpoint(cmd.isReadOnly(args), endpoints, forceMasterEndpoint), RETRIES, req, promise);
+          send(selectMasterOrReplicaEndpoint(req.readOnly(), endpoints, forceMasterEndpoint), RETRIES, req, promise);
           return promise.future();
         }
     }
@@ -408,6 +410,9 @@ public class RedisClusterConnection implements RedisConnection {
                 .onFailure(t -> LOG.warn("Failed closing connection: " + t));
             } else {
               connections.put(endpoint, conn);
+              if (onDrain != null) {
+                conn.drainHandler(onDrain);
+              }
             }
           }
           send(endpoint, retries, command, handler);
@@ -425,7 +430,8 @@ public class RedisClusterConnection implements RedisConnection {
     connection
       .send(command)
       .onComplete(send -> {
-        if (send.failed() && send.cause() instanceof ErrorType && retries >= 0) {
+        // a streamed argument is consumed once written, such a request is never sent again
+        if (send.failed() && send.cause() instanceof ErrorType && retries >= 0 && !((RequestImpl) command).streamed()) {
           final ErrorType cause = (ErrorType) send.cause();
 
           boolean ask = cause.is("ASK");
@@ -517,13 +523,12 @@ public class RedisClusterConnection implements RedisConnection {
         // process commands for cluster mode
         final RequestImpl req = (RequestImpl) request;
         final CommandImpl cmd = (CommandImpl) req.command();
-        final List<byte[]> args = req.getArgs();
 
         // someone might expect that for symmetry with `send()`, we'll also check the commands here
         // and fail if any of them is transactional, but that would be wrong -- a batch is always
         // executed on a single node and can therefore contain the whole transaction
 
-        readOnly |= cmd.isReadOnly(args);
+        readOnly |= req.readOnly();
 
         if (cmd.needsGetKeys()) {
           // it is required to resolve the keys at the server side as we cannot deduct where they are algorithmically
@@ -585,6 +590,15 @@ public class RedisClusterConnection implements RedisConnection {
     return promise.future();
   }
 
+  private static boolean streamed(List<Request> commands) {
+    for (Request command : commands) {
+      if (((RequestImpl) command).streamed()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private void batch(String endpoint, int retries, List<Request> commands, Completable<List<Response>> handler) {
     RedisConnection connection = connections.get(endpoint);
     if (connection == null) {
@@ -596,6 +610,9 @@ public class RedisClusterConnection implements RedisConnection {
                 .onFailure(t -> LOG.warn("Failed closing connection: " + t));
             } else {
               connections.put(endpoint, conn);
+              if (onDrain != null) {
+                conn.drainHandler(onDrain);
+              }
             }
           }
           batch(endpoint, retries, commands, handler);
@@ -613,7 +630,8 @@ public class RedisClusterConnection implements RedisConnection {
     connection
       .batch(commands)
       .onComplete(send -> {
-        if (send.failed() && send.cause() instanceof ErrorType && retries >= 0) {
+        // a streamed argument is consumed once written, such a batch is never sent again
+        if (send.failed() && send.cause() instanceof ErrorType && retries >= 0 && !streamed(commands)) {
           final ErrorType cause = (ErrorType) send.cause();
 
           boolean ask = cause.is("ASK");
@@ -707,6 +725,30 @@ public class RedisClusterConnection implements RedisConnection {
     return false;
   }
 
+  @Override
+  public boolean writeQueueFull() {
+    for (RedisConnection conn : connections.values()) {
+      if (conn != null) {
+        if (conn.writeQueueFull()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public RedisConnection drainHandler(@Nullable Handler<Void> handler) {
+    // called as soon as any of the connections that were full has room again
+    onDrain = handler;
+    for (RedisConnection conn : connections.values()) {
+      if (conn != null) {
+        conn.drainHandler(handler);
+      }
+    }
+    return this;
+  }
+
   /**
    * Select a Redis client for the given key
    */
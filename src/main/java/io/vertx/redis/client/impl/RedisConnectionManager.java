@@ -15,6 +15,7 @@
  */
 package io.vertx.redis.client.impl;
 
+import io.netty.channel.EventLoop;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
@@ -22,7 +23,9 @@ import io.vertx.core.ThreadingModel;
 import io.vertx.core.internal.pool.ConnectResult;
 import io.vertx.core.internal.pool.ConnectionPool;
 import io.vertx.core.internal.pool.Lease;
+import io.vertx.core.internal.pool.PoolConnection;
 import io.vertx.core.internal.pool.PoolConnector;
+import io.vertx.core.internal.pool.PoolWaiter;
 import io.vertx.core.internal.resource.ManagedResource;
 import io.vertx.core.internal.resource.ResourceManager;
 import io.vertx.core.net.ConnectOptions;
@@ -45,7 +48,17 @@ import io.vertx.redis.client.Request;
 import io.vertx.redis.client.Response;
 import io.vertx.redis.client.impl.types.ErrorType;
 
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -88,21 +101,45 @@ public class RedisConnectionManager implements Function<RedisConnectionManager.C
   }
 
   private void checkExpired(long period) {
-    pooledConnectionManager.forEach(e ->
-      ((RedisEndpoint) e).pool.evict(conn -> !conn.isValid(), (conns, err) -> {
-        if (err == null) {
-          for (RedisConnectionInternal conn : conns) {
-            // on close we reset the default handlers
-            conn.handler(null);
-            conn.endHandler(null);
-            conn.exceptionHandler(null);
-            conn.forceClose();
-          }
-        }
-      }));
+    final int minIdle = minIdle();
+    pooledConnectionManager.forEach(e -> {
+      final RedisEndpoint endpoint = (RedisEndpoint) e;
+      endpoint.connector.pruneSpares();
+      endpoint.pool.evict(conn -> !conn.isValid(), (conns, err) -> {
+        closeEvicted(conns, err);
+        // the evicted (or failed) connections are replaced in the background
+        endpoint.replenish(minIdle);
+      });
+    });
     timerID = vertx.setTimer(period, id -> checkExpired(period));
   }
 
+  private int minIdle() {
+    return Math.min(poolOptions.getMinIdle(), poolOptions.getMaxSize());
+  }
+
+  /**
+   * Opens connections on every endpoint until its pool has the minimum number of idle connections.
+   */
+  Future<Void> replenish() {
+    final int minIdle = minIdle();
+    final List<Future<Void>> replenished = new ArrayList<>();
+    pooledConnectionManager.forEach(e -> replenished.add(((RedisEndpoint) e).replenish(minIdle)));
+    return Future.join(replenished).mapEmpty();
+  }
+
+  private static void closeEvicted(List<RedisConnectionInternal> conns, Throwable err) {
+    if (err == null) {
+      for (RedisConnectionInternal conn : conns) {
+        // on close we reset the default handlers
+        conn.handler(null);
+        conn.endHandler(null);
+        conn.exceptionHandler(null);
+        conn.forceClose();
+      }
+    }
+  }
+
   public static class ConnectionKey {
     private final String string;
     private final Request setup;
@@ -136,8 +173,15 @@ public class RedisConnectionManager implements Function<RedisConnectionManager.C
     private final PoolOptions poolOptions;
     private final Supplier<Future<RedisConnectOptions>> options;
     private final TracingPolicy tracingPolicy;
-
-    public RedisConnectionProvider(VertxInternal vertx, NetClientInternal netClient, NetClientOptions netClientOptions, PoolOptions poolOptions, Supplier<Future<RedisConnectOptions>> options, TracingPolicy tracingPolicy, String connectionString, Request setup) {
+    // called once a connection that reached its maximum lifetime has been replaced
+    private final Handler<RedisConnectionInternal> onRetire;
+    // the connections opened to replace the connections that reached their maximum lifetime, they are
+    // handed to the pool instead of opening new connections
+    private final Deque<Spare> spares = new ConcurrentLinkedDeque<>();
+    // the connections being opened, by event loop
+    private final Map<EventLoop, AtomicInteger> connecting = new ConcurrentHashMap<>();
+
+    public RedisConnectionProvider(VertxInternal vertx, NetClientInternal netClient, NetClientOptions netClientOptions, PoolOptions poolOptions, Supplier<Future<RedisConnectOptions>> options, TracingPolicy tracingPolicy, String connectionString, Request setup, Handler<RedisConnectionInternal> onRetire) {
       this.vertx = vertx;
       this.netClient = netClient;
       this.netClientOptions = netClientOptions;
@@ -146,6 +190,7 @@ public class RedisConnectionManager implements Function<RedisConnectionManager.C
       this.tracingPolicy = tracingPolicy;
       this.redisURI = new RedisURI(connectionString);
       this.setup = setup;
+      this.onRetire = onRetire;
     }
 
     @Override
@@ -169,17 +214,91 @@ public class RedisConnectionManager implements Function<RedisConnectionManager.C
         }
       }
 
+      // a replacement that is already connected is used first
+      final Spare spare = takeSpare(ctx);
+      if (spare != null) {
+        spare.pooled(listener);
+        return ctx.succeededFuture(new ConnectResult<>(spare.connection, 1, 0));
+      }
+
+      final AtomicInteger pending = connecting.computeIfAbsent(ctx.nettyEventLoop(), eventLoop -> new AtomicInteger());
+      pending.incrementAndGet();
       // all calls the user handler will happen in the user context (ctx)
-      return getConnectOptions(ctx, listener, connectionStringInetSocket, connectionStringSsl, netClientSsl);
+      return getConnectOptions(ctx, listener, connectionStringInetSocket, connectionStringSsl, netClientSsl)
+        .andThen(ar -> pending.decrementAndGet())
+        .map(connection -> new ConnectResult<>(connection, 1, 0));
+    }
+
+    /**
+     * @return the number of connections being opened on the given event loop
+     */
+    int connecting(EventLoop eventLoop) {
+      final AtomicInteger pending = connecting.get(eventLoop);
+      return pending == null ? 0 : pending.get();
     }
 
-    private Future<ConnectResult<RedisConnectionInternal>> getConnectOptions(ContextInternal ctx, Listener listener,
+    private Future<RedisStandaloneConnection> getConnectOptions(ContextInternal ctx, Listener listener,
         boolean connectionStringInetSocket, boolean connectionStringSsl, boolean netClientSsl) {
       return options.get()
         .compose(opts -> connectAndSetup(ctx, opts, listener, connectionStringInetSocket, connectionStringSsl, netClientSsl));
     }
 
-    private Future<ConnectResult<RedisConnectionInternal>> connectAndSetup(ContextInternal ctx, RedisConnectOptions options, Listener listener, boolean connectionStringInetSocket, boolean connectionStringSsl, boolean netClientSsl) {
+    /**
+     * Replaces a connection that reached its maximum lifetime. The replacement is connected first, then the old
+     * connection is retired and the replacement is kept aside until the pool opens a connection.
+     */
+    private void rotate(ContextInternal ctx, RedisStandaloneConnection connection) {
+      if (spares.removeIf(spare -> spare.connection == connection)) {
+        // a replacement that was never used, it is not replaced in turn
+        connection.forceClose();
+        return;
+      }
+      if (!connection.isValid()) {
+        return;
+      }
+      final Spare spare = new Spare(ctx);
+      getConnectOptions(ctx, spare, redisURI.socketAddress().isInetSocket(), redisURI.ssl(), netClientOptions.isSsl())
+        .onComplete(ar -> {
+          if (ar.succeeded()) {
+            spare.connection = ar.result();
+            spares.add(spare);
+          } else {
+            LOG.debug("Failed to replace connection, it is evicted anyway", ar.cause());
+          }
+          connection.retire();
+          onRetire.handle(connection);
+        });
+    }
+
+    /**
+     * Takes a replacement that runs on the event loop of the given context, a replacement of another event loop
+     * would be selected by the pool as a connection of the requested one.
+     */
+    private Spare takeSpare(ContextInternal ctx) {
+      for (Spare spare : spares) {
+        if (!spare.connection.isValid()) {
+          if (spares.remove(spare)) {
+            spare.connection.forceClose();
+          }
+        } else if (spare.context.nettyEventLoop() == ctx.nettyEventLoop() && spares.remove(spare)) {
+          return spare;
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Closes the replacements that were not used before their recycle timeout.
+     */
+    void pruneSpares() {
+      for (Spare spare : spares) {
+        if (!spare.connection.isValid() && spares.remove(spare)) {
+          spare.connection.forceClose();
+        }
+      }
+    }
+
+    private Future<RedisStandaloneConnection> connectAndSetup(ContextInternal ctx, RedisConnectOptions options, Listener listener, boolean connectionStringInetSocket, boolean connectionStringSsl, boolean netClientSsl) {
       try {
         ConnectOptions connectOptions = new ConnectOptions()
           .setRemoteAddress(redisURI.socketAddress())
@@ -206,13 +325,13 @@ public class RedisConnectionManager implements Function<RedisConnectionManager.C
       }
     }
 
-    private Future<ConnectResult<RedisConnectionInternal>> init(ContextInternal ctx, RedisConnectOptions options, NetSocket netSocket, PoolConnector.Listener connectionListener) {
+    private Future<RedisStandaloneConnection> init(ContextInternal ctx, RedisConnectOptions options, NetSocket netSocket, PoolConnector.Listener connectionListener) {
       // the connection will inherit the user event loop context
       VertxMetrics vertxMetrics = vertx.metrics();
       ClientMetrics metrics = vertxMetrics != null
         ? vertxMetrics.createClientMetrics(redisURI.socketAddress(), "redis", netClientOptions.getMetricsName())
         : null;
-      final RedisStandaloneConnection connection = new RedisStandaloneConnection(vertx, ctx, connectionListener, netSocket, poolOptions, options.getMaxWaitingHandlers(), redisURI, metrics, tracingPolicy);
+      final RedisStandaloneConnection connection = new RedisStandaloneConnection(vertx, ctx, connectionListener, netSocket, poolOptions, options, redisURI, metrics, tracingPolicy);
       // initialization
       connection.exceptionHandler(DEFAULT_EXCEPTION_HANDLER);
 
@@ -222,22 +341,39 @@ public class RedisConnectionManager implements Function<RedisConnectionManager.C
         .closeHandler(connection::end)
         .exceptionHandler(connection::fail);
 
-      // initial handshake
-      return hello(ctx, connection, redisURI, options)
-        .compose(hello -> {
-          // perform select
-          return select(ctx, connection, redisURI.select());
-        }).compose(select -> {
-          // perform setup
-          return setup(ctx, connection, setup);
+      // initial handshake, the commands are pipelined so a new connection takes a single round trip
+      final Future<Boolean> hello = hello(ctx, connection, redisURI, options);
+      final Future<Void> selected = select(ctx, connection, redisURI.select());
+      final Future<Void> configured = setup(ctx, connection, setup);
+
+      return hello
+        .compose(fallback -> {
+          // when the handshake fell back to older commands (e.g.: `AUTH`), the commands that were
+          // pipelined after it may have been rejected, these are sent again
+          final Future<Void> select = retry(fallback, selected, () -> select(ctx, connection, redisURI.select()));
+          final Future<Void> setup = retry(fallback, configured, () -> setup(ctx, connection, this.setup));
+          return Future.all(select, setup);
         }).map(setup -> {
           // connection is valid
           connection.setValid();
-          return new ConnectResult<>(connection, 1, 0);
+          final long maxLifetime = poolOptions.getMaxLifetime();
+          if (maxLifetime != -1) {
+            // so the connections opened together are not all replaced at once
+            final long jitter = ThreadLocalRandom.current().nextLong(Math.max(0, poolOptions.getMaxLifetimeJitter()) + 1);
+            connection.rotateAfter(Math.max(1, maxLifetime - jitter), id -> rotate(ctx, connection));
+          }
+          return connection;
         });
     }
 
-    private Future<Void> hello(ContextInternal ctx, RedisStandaloneConnection connection, RedisURI redisURI, RedisConnectOptions options) {
+    private static Future<Void> retry(boolean fallback, Future<Void> sent, Supplier<Future<Void>> resend) {
+      return sent.recover(err -> fallback ? resend.get() : Future.failedFuture(err));
+    }
+
+    /**
+     * @return a future with {@code true} when the handshake fell back to older commands
+     */
+    private Future<Boolean> hello(ContextInternal ctx, RedisStandaloneConnection connection, RedisURI redisURI, RedisConnectOptions options) {
       if (!options.isProtocolNegotiation()) {
         return ping(ctx, connection, options);
       } else {
@@ -267,26 +403,26 @@ public class RedisConnectionManager implements Function<RedisConnectionManager.C
 
         return connection
           .send(hello)
-          .<Void>map(response -> {
+          .map(response -> {
             LOG.debug(response);
             Response server = response.get("server");
             if (server != null) {
               connection.setServerType(server.toString());
             }
-            return null;
+            return false;
           })
           .recover(err -> {
             if (err instanceof ErrorType) {
               final ErrorType redisErr = (ErrorType) err;
               if (redisErr.is("NOAUTH") || redisErr.is("WRONGPASS")) {
                 // Pika/PikiwiDB doesn't support authentication through `HELLO`, need to use `AUTH`
-                return authenticate(ctx, connection, user, password);
+                return authenticate(ctx, connection, user, password).map(true);
               }
               if (redisErr.is("ERR")) {
                 String msg = redisErr.getMessage();
                 if (msg.startsWith("ERR unknown command") || msg.startsWith("ERR unknown or unsupported command")) {
                   // chatting to an old server
-                  return ping(ctx, connection, options);
+                  return ping(ctx, connection, options).map(true);
                 }
               }
             }
@@ -295,7 +431,10 @@ public class RedisConnectionManager implements Function<RedisConnectionManager.C
       }
     }
 
-    private Future<Void> ping(ContextInternal ctx, RedisConnection connection, RedisConnectOptions options) {
+    /**
+     * @return a future with {@code true} when the server required the older `AUTH` command
+     */
+    private Future<Boolean> ping(ContextInternal ctx, RedisConnection connection, RedisConnectOptions options) {
       Request ping = Request.cmd(Command.PING);
 
       return connection
@@ -309,11 +448,11 @@ public class RedisConnectionManager implements Function<RedisConnectionManager.C
                 // old authentication required
                 String password = redisURI.password() != null ? redisURI.password() : options.getPassword();
                 String user = redisURI.user() != null ? redisURI.user() : options.getUser();
-                return this.authenticate(ctx, connection, user, password);
+                return this.authenticate(ctx, connection, user, password).map(true);
               }
             }
           }
-          return ((Future<Response>) ar).mapEmpty();
+          return ((Future<Response>) ar).map(false);
         });
     }
 
@@ -401,17 +540,119 @@ public class RedisConnectionManager implements Function<RedisConnectionManager.C
     return fut;
   }
 
+  /**
+   * A connection opened to replace a connection that reached its maximum lifetime. It is not yet in the pool,
+   * the pool listener is only known once the pool opens a connection.
+   */
+  private static final class Spare implements PoolConnector.Listener {
+
+    private final ContextInternal context;
+    private RedisStandaloneConnection connection;
+    private volatile PoolConnector.Listener listener;
+
+    private Spare(ContextInternal context) {
+      this.context = context;
+    }
+
+    void pooled(PoolConnector.Listener listener) {
+      this.listener = listener;
+    }
+
+    @Override
+    public void onRemove() {
+      final PoolConnector.Listener listener = this.listener;
+      if (listener != null) {
+        listener.onRemove();
+      }
+    }
+
+    @Override
+    public void onConcurrencyChange(long concurrency) {
+      final PoolConnector.Listener listener = this.listener;
+      if (listener != null) {
+        listener.onConcurrencyChange(concurrency);
+      }
+    }
+  }
+
   public static class RedisEndpoint extends ManagedResource {
 
+    private final VertxInternal vertx;
+    final RedisConnectionProvider connector;
     final ConnectionPool<RedisConnectionInternal> pool;
+    // the number of connections leased from the pool, the others are idle
+    private final AtomicInteger leased = new AtomicInteger();
+    private final AtomicBoolean replenishing = new AtomicBoolean();
+    // the contexts of the connections opened to keep a minimum of idle connections, one per event loop
+    private final Map<EventLoop, ContextInternal> replenishContexts = new ConcurrentHashMap<>();
+    private final int maxSize;
 
     public ConnectionPool<RedisConnectionInternal> pool() {
       return pool;
     }
 
     public RedisEndpoint(VertxInternal vertx, NetClientInternal netClient, NetClientOptions netClientOptions, PoolOptions poolOptions, Supplier<Future<RedisConnectOptions>> connectOptions, TracingPolicy tracingPolicy, String connectionString, Request setup) {
-      PoolConnector<RedisConnectionInternal> connector = new RedisConnectionProvider(vertx, netClient, netClientOptions, poolOptions, connectOptions, tracingPolicy, connectionString, setup);
-      pool = ConnectionPool.pool(connector, new int[]{poolOptions.getMaxSize()}, poolOptions.getMaxWaiting());
+      this.vertx = vertx;
+      connector = new RedisConnectionProvider(vertx, netClient, netClientOptions, poolOptions, connectOptions, tracingPolicy, connectionString, setup, this::retired);
+      maxSize = poolOptions.getMaxSize();
+      pool = ConnectionPool.pool(connector, new int[]{maxSize}, poolOptions.getMaxWaiting());
+      final BiFunction<PoolWaiter<RedisConnectionInternal>, List<PoolConnection<RedisConnectionInternal>>, PoolConnection<RedisConnectionInternal>> selector =
+        poolOptions.isEventLoopAffinity() ? eventLoopAffinity(connector, maxSize) : RedisEndpoint::sameEventLoopFirst;
+      // a replenish lease never selects a connection, so the pool opens a new one
+      pool.connectionSelector((waiter, connections) -> isReplenishing(waiter.context()) ? null : selector.apply(waiter, connections));
+    }
+
+    /**
+     * Selects a connection bound to the event loop of the caller, or else any available connection.
+     */
+    private static PoolConnection<RedisConnectionInternal> sameEventLoopFirst(PoolWaiter<RedisConnectionInternal> waiter, List<PoolConnection<RedisConnectionInternal>> connections) {
+      final EventLoop eventLoop = waiter.context().nettyEventLoop();
+      PoolConnection<RedisConnectionInternal> other = null;
+      for (PoolConnection<RedisConnectionInternal> connection : connections) {
+        if (connection.available() > 0) {
+          if (connection.context().nettyEventLoop() == eventLoop) {
+            return connection;
+          }
+          if (other == null) {
+            other = connection;
+          }
+        }
+      }
+      return other;
+    }
+
+    /**
+     * Selects a connection bound to the event loop of the caller. When there is none, no connection is selected
+     * so the pool creates one on the caller event loop, connections of other event loops are only used once the
+     * pool is full, or while a connection is already being opened on the caller event loop, so that a burst of
+     * callers does not open a connection each.
+     */
+    private static BiFunction<PoolWaiter<RedisConnectionInternal>, List<PoolConnection<RedisConnectionInternal>>, PoolConnection<RedisConnectionInternal>> eventLoopAffinity(RedisConnectionProvider connector, int maxSize) {
+      return (waiter, connections) -> {
+        final EventLoop eventLoop = waiter.context().nettyEventLoop();
+        PoolConnection<RedisConnectionInternal> other = null;
+        for (PoolConnection<RedisConnectionInternal> connection : connections) {
+          if (connection.available() > 0) {
+            if (connection.context().nettyEventLoop() == eventLoop) {
+              return connection;
+            }
+            if (other == null) {
+              other = connection;
+            }
+          }
+        }
+        if (other != null && connector.connecting(eventLoop) > 0) {
+          return other;
+        }
+        return connections.size() < maxSize ? null : other;
+      };
+    }
+
+    /**
+     * Evicts a connection that has been replaced. When it is leased, it is evicted by the cleaner once it is idle.
+     */
+    private void retired(RedisConnectionInternal connection) {
+      pool.evict(conn -> conn == connection, RedisConnectionManager::closeEvicted);
     }
 
     public Future<Lease<RedisConnectionInternal>> requestConnection(ContextInternal ctx) {
@@ -422,13 +663,95 @@ public class RedisConnectionManager implements Function<RedisConnectionManager.C
           // once there are no more connections the pool is collected, so this counter needs
           // to be as up to date as possible.
           incRefCount();
+          final CountedLease counted = new CountedLease(lease);
           // Integration between endpoint/pool and the standalone connection
-          ((RedisStandaloneConnection) lease.get()).evictHandler(this::decRefCount);
+          ((RedisStandaloneConnection) lease.get()).evictHandler(() -> {
+            counted.released();
+            decRefCount();
+          });
           // proceed to user
+          promise.complete(counted);
+        } else {
+          promise.fail(err);
         }
-        promise.complete(lease, err);
       });
       return promise.future();
     }
+
+    /**
+     * Opens connections until the pool has at least the given number of idle connections, as long as the pool
+     * has room for them and no caller is waiting for a connection. Only the missing connections are leased, the
+     * pool opens a new connection for each of them (see {@link #isReplenishing(ContextInternal)}) and each one is
+     * recycled as soon as it is connected. The connections are spread over the event loops.
+     */
+    Future<Void> replenish(int minIdle) {
+      final int size = pool.size();
+      final int missing = Math.min(minIdle - (size - leased.get()), maxSize - size);
+      if (missing <= 0 || pool.waiters() > 0 || !replenishing.compareAndSet(false, true)) {
+        return Future.succeededFuture();
+      }
+      final List<Future<Lease<RedisConnectionInternal>>> leases = new ArrayList<>(missing);
+      for (int i = 0; i < missing; i++) {
+        leases.add(requestConnection(replenishContext(vertx.nettyEventLoopGroup().next()))
+          .andThen(ar -> {
+            if (ar.succeeded()) {
+              ar.result().recycle();
+            }
+          }));
+      }
+      return Future.join(leases)
+        .andThen(ar -> {
+          replenishing.set(false);
+          if (ar.failed()) {
+            LOG.debug("Failed to replenish the connection pool", ar.cause());
+          }
+        })
+        .mapEmpty();
+    }
+
+    private ContextInternal replenishContext(EventLoop eventLoop) {
+      return replenishContexts.computeIfAbsent(eventLoop, el -> vertx.contextBuilder()
+        .withThreadingModel(ThreadingModel.EVENT_LOOP)
+        .withEventLoop(el)
+        .build());
+    }
+
+    /**
+     * @return {@code true} when the context is the one of the connections opened by {@link #replenish(int)}
+     */
+    private boolean isReplenishing(ContextInternal ctx) {
+      return replenishContexts.get(ctx.nettyEventLoop()) == ctx;
+    }
+
+    /**
+     * Counts the connection as leased until it is recycled or evicted.
+     */
+    private final class CountedLease implements Lease<RedisConnectionInternal> {
+
+      private final Lease<RedisConnectionInternal> lease;
+      private final AtomicBoolean released = new AtomicBoolean();
+
+      CountedLease(Lease<RedisConnectionInternal> lease) {
+        this.lease = lease;
+        leased.incrementAndGet();
+      }
+
+      @Override
+      public RedisConnectionInternal get() {
+        return lease.get();
+      }
+
+      @Override
+      public void recycle() {
+        released();
+        lease.recycle();
+      }
+
+      void released() {
+        if (released.compareAndSet(false, true)) {
+          leased.decrementAndGet();
+        }
+      }
+    }
   }
 }
@@ -4,12 +4,15 @@ import io.vertx.codegen.annotations.Nullable;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.redis.client.Command;
 import io.vertx.redis.client.RedisConnection;
 import io.vertx.redis.client.RedisReplicas;
 import io.vertx.redis.client.RedisReplicationConnectOptions;
+import io.vertx.redis.client.ReplyDecoder;
 import io.vertx.redis.client.Request;
 import io.vertx.redis.client.Response;
 
@@ -121,32 +124,77 @@ public class RedisReplicationConnection implements RedisConnection {
     final CommandImpl cmd = (CommandImpl) req.command();
     final boolean forceMasterEndpoint = MASTER_ONLY_COMMANDS.contains(cmd);
 
-    return selectMasterOrReplicaEndpoint(cmd.isReadOnly(req.getArgs()), forceMasterEndpoint)
+    return selectMasterOrReplicaEndpoint(req.readOnly(), forceMasterEndpoint)
       .send(request);
   }
 
+  @Override
+  public <T> Future<T> send(Request request, ReplyDecoder<T> decoder) {
+    final RequestImpl req = (RequestImpl) request;
+    final CommandImpl cmd = (CommandImpl) req.command();
+    final boolean forceMasterEndpoint = MASTER_ONLY_COMMANDS.contains(cmd);
+
+    return selectMasterOrReplicaEndpoint(req.readOnly(), forceMasterEndpoint)
+      .send(request, decoder);
+  }
+
+  @Override
+  public Future<ReadStream<Buffer>> sendBulkStream(Request request) {
+    final RequestImpl req = (RequestImpl) request;
+    final CommandImpl cmd = (CommandImpl) req.command();
+    final boolean forceMasterEndpoint = MASTER_ONLY_COMMANDS.contains(cmd);
+
+    return selectMasterOrReplicaEndpoint(req.readOnly(), forceMasterEndpoint)
+      .sendBulkStream(request);
+  }
+
+  @Override
+  public Future<ReadStream<Response>> sendMultiStream(Request request) {
+    final RequestImpl req = (RequestImpl) request;
+    final CommandImpl cmd = (CommandImpl) req.command();
+    final boolean forceMasterEndpoint = MASTER_ONLY_COMMANDS.contains(cmd);
+
+    return selectMasterOrReplicaEndpoint(req.readOnly(), forceMasterEndpoint)
+      .sendMultiStream(request);
+  }
+
   @Override
   public Future<List<Response>> batch(List<Request> requests) {
     if (requests.isEmpty()) {
       LOG.debug("Empty batch");
       return Future.succeededFuture(Collections.emptyList());
     } else {
-      boolean readOnly = false;
-      boolean forceMasterEndpoint = false;
+      return selectBatchEndpoint(requests)
+        .batch(requests);
+    }
+  }
+
+  @Override
+  public Future<ReadStream<Response>> batchStream(List<Request> requests) {
+    if (requests.isEmpty()) {
+      LOG.debug("Empty batch");
+      return Future.succeededFuture(BatchReadStream.of(Collections.emptyList()));
+    } else {
+      return selectBatchEndpoint(requests)
+        .batchStream(requests);
+    }
+  }
 
-      // look up the base slot for the batch
-      for (Request request : requests) {
-        // process commands for cluster mode
-        final RequestImpl req = (RequestImpl) request;
-        final CommandImpl cmd = (CommandImpl) req.command();
+  private PooledRedisConnection selectBatchEndpoint(List<Request> requests) {
+    boolean readOnly = false;
+    boolean forceMasterEndpoint = false;
 
-        readOnly |= cmd.isReadOnly(req.getArgs());
-        forceMasterEndpoint |= MASTER_ONLY_COMMANDS.contains(cmd);
-      }
+    // look up the base slot for the batch
+    for (Request request : requests) {
+      // process commands for cluster mode
+      final RequestImpl req = (RequestImpl) request;
+      final CommandImpl cmd = (CommandImpl) req.command();
 
-      return selectMasterOrReplicaEndpoint(readOnly, forceMasterEndpoint)
-        .batch(requests);
+      readOnly |= req.readOnly();
+      forceMasterEndpoint |= MASTER_ONLY_COMMANDS.contains(cmd);
     }
+
+    return selectMasterOrReplicaEndpoint(readOnly, forceMasterEndpoint);
   }
 
   @Override
@@ -179,6 +227,31 @@ public class RedisReplicationConnection implements RedisConnection {
     return result;
   }
 
+  @Override
+  public boolean writeQueueFull() {
+    boolean result = master.writeQueueFull();
+
+    for (RedisConnection conn : replicas) {
+      if (conn != null) {
+        result |= conn.writeQueueFull();
+      }
+    }
+
+    return result;
+  }
+
+  @Override
+  public RedisConnection drainHandler(@Nullable Handler<Void> handler) {
+    // called as soon as any of the connections that were full has room again
+    master.drainHandler(handler);
+    for (RedisConnection conn : replicas) {
+      if (conn != null) {
+        conn.drainHandler(handler);
+      }
+    }
+    return this;
+  }
+
   private PooledRedisConnection selectMasterOrReplicaEndpoint(boolean read, boolean forceMasterEndpoint) {
     if (forceMasterEndpoint) {
       return master;
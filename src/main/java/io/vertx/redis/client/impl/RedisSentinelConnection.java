@@ -3,7 +3,10 @@ package io.vertx.redis.client.impl;
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.redis.client.RedisConnection;
+import io.vertx.redis.client.ReplyDecoder;
 import io.vertx.redis.client.Request;
 import io.vertx.redis.client.Response;
 
@@ -19,6 +22,8 @@ public class RedisSentinelConnection implements RedisConnection {
 
   private final AtomicReference<PooledRedisConnection> connection;
   private final SentinelFailover failover;
+  // the drain handler, attached again to the new master connection on failover
+  private volatile Handler<Void> onDrain;
 
   public RedisSentinelConnection(PooledRedisConnection connection, SentinelFailover failover) {
     this.connection = new AtomicReference<>(connection);
@@ -28,6 +33,10 @@ public class RedisSentinelConnection implements RedisConnection {
 
   void reconnect(PooledRedisConnection newConnection) {
     connection.set(newConnection);
+    final Handler<Void> onDrain = this.onDrain;
+    if (onDrain != null) {
+      newConnection.drainHandler(onDrain);
+    }
   }
 
   @Override
@@ -71,11 +80,31 @@ public class RedisSentinelConnection implements RedisConnection {
     return connection.get().send(command);
   }
 
+  @Override
+  public <T> Future<T> send(Request command, ReplyDecoder<T> decoder) {
+    return connection.get().send(command, decoder);
+  }
+
+  @Override
+  public Future<ReadStream<Buffer>> sendBulkStream(Request command) {
+    return connection.get().sendBulkStream(command);
+  }
+
+  @Override
+  public Future<ReadStream<Response>> sendMultiStream(Request command) {
+    return connection.get().sendMultiStream(command);
+  }
+
   @Override
   public Future<List<@Nullable Response>> batch(List<Request> commands) {
     return connection.get().batch(commands);
   }
 
+  @Override
+  public Future<ReadStream<Response>> batchStream(List<Request> commands) {
+    return connection.get().batchStream(commands);
+  }
+
   Future<Void> closeDelegate() {
     return connection.get().close();
   }
@@ -90,4 +119,16 @@ public class RedisSentinelConnection implements RedisConnection {
   public boolean pendingQueueFull() {
     return connection.get().pendingQueueFull();
   }
+
+  @Override
+  public boolean writeQueueFull() {
+    return connection.get().writeQueueFull();
+  }
+
+  @Override
+  public RedisConnection drainHandler(@Nullable Handler<Void> handler) {
+    onDrain = handler;
+    connection.get().drainHandler(handler);
+    return this;
+  }
 }
@@ -1,10 +1,16 @@
 package io.vertx.redis.client.impl;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCountUtil;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.internal.buffer.BufferInternal;
+import io.vertx.core.internal.net.NetSocketInternal;
 import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.internal.PromiseInternal;
 import io.vertx.core.internal.logging.Logger;
@@ -13,20 +19,22 @@ import io.vertx.core.net.NetSocket;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.core.internal.pool.PoolConnector;
 import io.vertx.core.spi.metrics.ClientMetrics;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.core.tracing.TracingPolicy;
 import io.vertx.redis.client.Command;
 import io.vertx.redis.client.PoolOptions;
+import io.vertx.redis.client.RedisConnectOptions;
 import io.vertx.redis.client.RedisConnection;
+import io.vertx.redis.client.ReplyDecoder;
 import io.vertx.redis.client.Request;
 import io.vertx.redis.client.Response;
 import io.vertx.redis.client.ResponseType;
 import io.vertx.redis.client.impl.types.ErrorType;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class RedisStandaloneConnection implements RedisConnectionInternal, ParserHandler {
   private static final Logger LOG = LoggerFactory.getLogger(RedisStandaloneConnection.class);
@@ -41,12 +49,12 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
   private final ContextInternal context;
   private final NetSocket netSocket;
   // waiting: commands that have been sent but not answered
-  // the queue is only accessed from the event loop
+  // the queue is only accessed from the connection context, sends are executed on it and
+  // replies are received on it, so it needs no locking
   private final ArrayQueue waiting;
   private final RedisURI uri;
   private final ClientMetrics metrics;
   private final TracingPolicy tracingPolicy;
-  private final long maxLifetimeExpiration;
 
   // discovered late (during `HELLO`), so cannot be `final`
   private String serverType = "redis";
@@ -59,21 +67,57 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
   private boolean closed = false;
   private boolean tainted = false;
   private long expiresAt;
+  // the connection has reached its maximum lifetime and has been replaced
+  private volatile boolean retired = false;
+  // replaces the connection once it reaches its maximum lifetime, -1 when not scheduled
+  private long rotationTimer = -1;
+  // the replies being streamed to the application, if any
+  private BulkReadStream bulkStream;
+  private MultiReadStream multiStream;
+  // the pauses of the socket by the reply streams waiting for demand, released on their own
+  private int streamPauses;
+  // the socket has been paused by the application
+  private volatile boolean paused;
+  // the reply being decoded by a user decoder, if any
+  private DecodingReply<?> decoding;
+  // the writes waiting for a streamed argument to be written, null when no stream is being written
+  private Deque<QueuedWrite> uploads;
+  // coalesces the writes, null when disabled
+  private final AutoPipeline autoPipeline;
+  // sends waiting for room in the waiting queue or in the socket write queue, null when parking is disabled
+  private final Deque<Parked> parked;
+  private final int maxParkedSends;
+  // limits the commands in flight according to the latency, null when disabled
+  private final InFlightLimit inFlightLimit;
+  // the connection has been seen full, the drain handler is called once it has room again
+  private boolean needsDrain;
+  private Handler<Void> onDrain;
+  // resumes the streamed argument being written, once the socket write queue has room again
+  private Handler<Void> onUploadDrain;
 
-  public RedisStandaloneConnection(VertxInternal vertx, ContextInternal context, PoolConnector.Listener connectionListener, NetSocket netSocket, PoolOptions options, int maxWaitingHandlers, RedisURI uri, ClientMetrics metrics, TracingPolicy tracingPolicy) {
+  public RedisStandaloneConnection(VertxInternal vertx, ContextInternal context, PoolConnector.Listener connectionListener, NetSocket netSocket, PoolOptions options, RedisConnectOptions connectOptions, RedisURI uri, ClientMetrics metrics, TracingPolicy tracingPolicy) {
     //System.out.println("<ctor>#" + this.hashCode());
     this.poolOptions = options;
     this.listener = connectionListener;
     this.vertx = vertx;
     this.context = context;
     this.netSocket = netSocket;
-    this.waiting = new ArrayQueue(maxWaitingHandlers);
+    this.waiting = new ArrayQueue(connectOptions.getMaxWaitingHandlers());
+    this.autoPipeline = connectOptions.isAutoPipelining() ?
+      new AutoPipeline(context, this::flushMessage, connectOptions.getAutoPipeliningDelay(), connectOptions.getAutoPipeliningMaxBytes()) :
+      null;
+    this.maxParkedSends = connectOptions.getMaxParkedSends();
+    this.parked = maxParkedSends > 0 ? new ArrayDeque<>() : null;
+    this.inFlightLimit = connectOptions.isAdaptiveInFlightLimit() ?
+      new InFlightLimit(connectOptions.getMaxWaitingHandlers()) :
+      null;
     this.uri = uri;
     this.metrics = metrics;
     this.tracingPolicy = tracingPolicy;
-    this.maxLifetimeExpiration = options.getMaxLifetime() == -1 ? Long.MAX_VALUE : System.currentTimeMillis() + options.getMaxLifetime();
 
     this.expiresAt = computeExpiration();
+
+    netSocket.drainHandler(this::socketDrained);
   }
 
   private long computeExpiration() {
@@ -99,7 +143,38 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
   public synchronized boolean isValid() {
     //System.out.println("isValid()#" + this.hashCode());
     long now = System.currentTimeMillis();
-    return !closed && now < expiresAt && now < maxLifetimeExpiration;
+    return !closed && !retired && now < expiresAt;
+  }
+
+  /**
+   * Schedules the replacement of this connection, the timer is cancelled when the connection is closed.
+   */
+  synchronized void rotateAfter(long delay, Handler<Long> rotation) {
+    if (!closed) {
+      rotationTimer = vertx.setTimer(delay, rotation);
+    }
+  }
+
+  /**
+   * The connection has been replaced, it is no longer valid and is evicted from the pool as soon as it is idle.
+   */
+  synchronized void retire() {
+    retired = true;
+  }
+
+  /**
+   * Whether the connection has been replaced, the connections that are held instead of being returned to the pool
+   * should be replaced too.
+   */
+  boolean isRetired() {
+    return retired;
+  }
+
+  private void cancelRotation() {
+    if (rotationTimer != -1) {
+      vertx.cancelTimer(rotationTimer);
+      rotationTimer = -1;
+    }
   }
 
   @Override
@@ -120,11 +195,35 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
   @Override
   public boolean pendingQueueFull() {
     //System.out.println("pendingQueueFull()#" + this.hashCode());
-    synchronized (waiting) {
-      return waiting.isFull();
+    // safe to call from any thread
+    return waiting.isFull();
+  }
+
+  @Override
+  public boolean writeQueueFull() {
+    // to be called from the connection context
+    return isFull();
+  }
+
+  private boolean isFull() {
+    return (parked != null && !parked.isEmpty()) || !hasRoom(1) || netSocket.writeQueueFull();
+  }
+
+  /**
+   * Once a send leaves the connection full, the drain handler is called when it has room again.
+   */
+  private void checkFull() {
+    if (!needsDrain && isFull()) {
+      needsDrain = true;
     }
   }
 
+  @Override
+  public RedisConnection drainHandler(Handler<Void> handler) {
+    this.onDrain = handler;
+    return this;
+  }
+
   @Override
   public RedisConnection exceptionHandler(Handler<Throwable> handler) {
     //System.out.println("exceptionHandler()#" + this.hashCode());
@@ -155,6 +254,7 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
   @Override
   public RedisConnection pause() {
     //System.out.println("pause()#" + this.hashCode());
+    paused = true;
     netSocket.pause();
     return this;
   }
@@ -162,7 +262,13 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
   @Override
   public RedisConnection resume() {
     //System.out.println("resume()#" + this.hashCode());
-    netSocket.resume();
+    paused = false;
+    context.execute(() -> {
+      // a reply stream waiting for demand keeps the socket paused
+      if (streamPauses == 0) {
+        netSocket.resume();
+      }
+    });
     return this;
   }
 
@@ -173,6 +279,24 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
     return this;
   }
 
+  /**
+   * Pauses the socket on behalf of a reply stream waiting for demand, called from the connection context.
+   */
+  void streamPause() {
+    if (streamPauses++ == 0) {
+      netSocket.pause();
+    }
+  }
+
+  /**
+   * Releases a pause of {@link #streamPause()}, a pause of the application is kept.
+   */
+  void streamResume() {
+    if (--streamPauses == 0 && !paused) {
+      netSocket.resume();
+    }
+  }
+
   /**
    * Checks if an executed command has tainted the connection. A connection is tainted if it changes the default state,
    * for example, when a connection enters pub sub mode, or specific features are activated such as changing a database
@@ -196,7 +320,47 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
     return promise.future();
   }
 
+  @Override
+  public Future<ReadStream<Buffer>> sendBulkStream(final Request request) {
+    Promise<ReadStream<Buffer>> promise = vertx.promise();
+    context.execute(() -> {
+      final BulkReadStream stream = new BulkReadStream(context, this, promise);
+      // replies that are not streamed by the parser complete the stream reply promise
+      doSend(request, stream.reply(), stream);
+    });
+    return promise.future();
+  }
+
+  @Override
+  public Future<ReadStream<Response>> sendMultiStream(final Request request) {
+    Promise<ReadStream<Response>> promise = vertx.promise();
+    context.execute(() -> {
+      final MultiReadStream stream = new MultiReadStream(context, this, promise);
+      // replies that are not streamed by the parser complete the stream reply promise
+      doSend(request, stream.reply(), stream);
+    });
+    return promise.future();
+  }
+
+  @Override
+  public <T> Future<T> send(final Request request, ReplyDecoder<T> decoder) {
+    Promise<T> promise = vertx.promise();
+    context.execute(() -> {
+      final DecodingReply<T> decoding = new DecodingReply<>(context, decoder, promise);
+      // error replies are not decoded by the parser and complete the reply promise
+      doSend(request, decoding.reply(), decoding);
+    });
+    return promise.future();
+  }
+
   private void doSend(final Request request, Promise<Response> promise) {
+    doSend(request, promise, promise);
+  }
+
+  /**
+   * @param entry the waiting queue entry, either the promise itself, a {@link ReplyReadStream} or a {@link DecodingReply}
+   */
+  private void doSend(final Request request, Promise<Response> promise, Object entry) {
     //System.out.println("send()#" + this.hashCode());
     if (closed) {
       promise.fail("Connection is closed");
@@ -217,22 +381,29 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
     context.execute(cmd, this::taintCheck);
 
     final boolean voidCmd = cmd.isPubSub();
-    // encode the message to a buffer
-    final Buffer message = ((RequestImpl) request).encode();
+    if (voidCmd && entry != promise) {
+      promise.fail("PubSub command cannot be streamed");
+      return;
+    }
+    final int slots = voidCmd ? 0 : 1;
+    if (!canWrite(slots)) {
+      park(slots, promise, () -> doWrite(request, promise, entry, voidCmd));
+      return;
+    }
+    doWrite(request, promise, entry, voidCmd);
+  }
+
+  private void doWrite(final Request request, Promise<Response> promise, Object entry, boolean voidCmd) {
     // offer the handler to the waiting queue if not void command
     if (!voidCmd) {
-      // we might have switch thread/context
-      synchronized (waiting) {
-        if (waiting.isFull()) {
-          promise.fail("Redis waiting queue is full");
-          return;
-        }
-        waiting.offer(promise);
+      waiting.offer(entry);
+      if (inFlightLimit != null) {
+        inFlightLimit.sent(1);
       }
     }
     // write to the socket
     try {
-      netSocket.write(message)
+      write(Collections.singletonList(request), ((RequestImpl) request).encodedLength())
         // if the write fails, this connection enters a unknown state
         // which means it should be terminated
         .onFailure(this::fail)
@@ -253,16 +424,31 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
       context.execute(err, this::fail);
       promise.fail(err);
     }
+    checkFull();
   }
 
   @Override
   public Future<List<Response>> batch(List<Request> commands) {
     Promise<List<Response>> promise = vertx.promise();
-    context.execute(() -> doBatch(commands, promise));
+    context.execute(() -> doBatch(commands, promise, new BatchReply(promise, commands.size())));
     return promise.future();
   }
 
-  private void doBatch(List<Request> commands, Promise<List<Response>> promise) {
+  @Override
+  public Future<ReadStream<Response>> batchStream(List<Request> commands) {
+    Promise<ReadStream<Response>> promise = vertx.promise();
+    context.execute(() -> {
+      final BatchReadStream stream = new BatchReadStream(context, this, promise);
+      doBatch(commands, promise, new BatchReply(stream, commands.size()));
+    });
+    return promise.future();
+  }
+
+  /**
+   * @param promise the promise failed when the batch cannot be sent
+   * @param batch the waiting queue entry of the batch
+   */
+  private void doBatch(List<Request> commands, Promise<?> promise, BatchReply batch) {
     //System.out.println("batch()#" + this.hashCode());
     if (closed) {
       promise.fail("Connection is closed");
@@ -271,20 +457,13 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
 
     if (commands.isEmpty()) {
       LOG.debug("Empty batch");
-      promise.succeed(Collections.emptyList());
+      batch.empty();
     } else {
-      // will re-encode the handler into a list of promises
-      final List<Promise<Response>> callbacks = new ArrayList<>(commands.size());
-      final Response[] replies = new Response[commands.size()];
-      final AtomicInteger count = new AtomicInteger(commands.size());
-      final StringBuilder errorMsg = new StringBuilder();
-
-      // encode the message to a single buffer
-      final Buffer messages = Buffer.buffer();
-
-      for (int i = 0; i < commands.size(); i++) {
-        final int index = i;
-        final RequestImpl req = (RequestImpl) commands.get(index);
+      // the exact size of the single buffer all requests are encoded to
+      int length = 0;
+
+      for (Request command : commands) {
+        final RequestImpl req = (RequestImpl) command;
         final CommandImpl cmd = (CommandImpl) req.command();
 
         if (!req.valid()) {
@@ -300,95 +479,244 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
           promise.fail("PubSub command in batch not allowed");
           return;
         }
-        // encode to the single buffer
-        req.encode(messages);
+        length += req.encodedLength();
         // tag this connection as tainted if needed
         taintCheck(cmd);
-        // unwrap the handler into a single handler
+      }
 
-        Promise<Response> p = vertx.promise();
+      // a single waiting queue entry takes all the replies
+      if (!canWrite(batch.size())) {
+        final int total = length;
+        park(batch.size(), promise, () -> doWriteBatch(commands, total, batch));
+        return;
+      }
+      doWriteBatch(commands, length, batch);
+    }
+  }
 
-        p.future().onComplete(command -> {
-          if (command.failed()) {
-            if (errorMsg.length() > 0) {
-              errorMsg.append(System.lineSeparator());
-            }
-            String cause = null;
-            if (command.cause() != null) {
-              cause = command.cause().toString();
-              if (cause != null) {
-                if (cause.startsWith("ERR ")) {
-                  // strip the ERR prefix
-                  cause = cause.substring(4);
-                }
-              }
-            }
-            // the message rewrite is just to comply to the redis error message contract
-            errorMsg.append("ERR [").append(index).append("] ").append(cause);
-          } else {
-            // set the reply
-            replies[index] = command.result();
-          }
+  private void doWriteBatch(List<Request> commands, int length, BatchReply batch) {
+    // the batch takes a waiting slot per command
+    waiting.offer(batch, batch.size());
+    if (inFlightLimit != null) {
+      inFlightLimit.sent(batch.size());
+    }
+    batch.written();
+    // write to the socket
+    try {
+      write(commands, length)
+        // if the write fails, this connection enters an unknown state
+        // which means it should be terminated
+        .onFailure(this::fail);
+    } catch (RuntimeException err) {
+      // is the socket in a broken state?
+      context.execute(err, this::fail);
+      batch.fail(err);
+    }
+    checkFull();
+  }
 
-          if (count.decrementAndGet() == 0) {
-            // all results have arrived
-            boolean resolved = errorMsg.length() > 0 ?
-              promise.tryFail(ErrorType.create(errorMsg.toString())) :
-              promise.tryComplete(Arrays.asList(replies));
+  /**
+   * Whether a send taking the given number of waiting slots can be written right away, parked sends are
+   * written first, in order.
+   */
+  private boolean canWrite(int slots) {
+    return (parked == null || parked.isEmpty()) && hasRoom(slots);
+  }
 
-            if (!resolved) {
-              // if the promise fail (e.g.: an client error forced a cleanup)
-              // call the exception handler if any
-              if (onException != null) {
-                context.execute(new IllegalStateException("Result is already complete: [" + promise + "]"), onException);
-              }
-            }
-          }
-        });
+  private boolean hasRoom(int slots) {
+    if (waiting.freeSlots() < slots) {
+      return false;
+    }
+    final int inFlight = waiting.size();
+    // a send larger than the limit is still written once nothing else is in flight
+    if (inFlightLimit != null && slots > 0 && inFlight > 0 && inFlight + slots > inFlightLimit.current()) {
+      return false;
+    }
+    // the socket write queue only holds sends back when they can be parked
+    return parked == null || !netSocket.writeQueueFull();
+  }
+
+  /**
+   * Parks a send until there is room for it, or fails it when no more sends can be parked.
+   */
+  private void park(int slots, Promise<?> promise, Runnable write) {
+    needsDrain = true;
+    if (parked == null || parked.size() >= maxParkedSends || slots > waiting.size() + waiting.freeSlots()) {
+      promise.fail("Redis waiting queue is full");
+      return;
+    }
+    parked.add(new Parked(slots, promise, write));
+  }
 
-        callbacks.add(index, p);
+  /**
+   * Writes the parked sends there is room for and calls the drain handler if the connection is no longer full.
+   */
+  private void drain() {
+    if (parked != null) {
+      Parked next;
+      while (!closed && (next = parked.peek()) != null && hasRoom(next.slots)) {
+        parked.poll();
+        next.write.run();
+      }
+    }
+    if (needsDrain && !closed && !isFull()) {
+      needsDrain = false;
+      if (onDrain != null) {
+        context.execute(null, onDrain);
       }
+    }
+  }
 
-      synchronized (waiting) {
-        // we might have switch thread/context
-        // this means the check needs to be performed again
-        if (waiting.freeSlots() < callbacks.size()) {
-          promise.fail("Redis waiting queue is full");
+  private void replied() {
+    if (needsDrain || (parked != null && !parked.isEmpty())) {
+      drain();
+    }
+  }
+
+  private void socketDrained(Void v) {
+    if (onUploadDrain != null) {
+      final Handler<Void> handler = onUploadDrain;
+      onUploadDrain = null;
+      handler.handle(null);
+    }
+    drain();
+  }
+
+  /**
+   * Encodes the given requests into a single buffer of the given (exact) length and writes it. The buffer is
+   * allocated from the pooled allocator and released by the transport once it has been flushed. Large
+   * arguments are not copied, they are written along with slices of the encoded buffer as a composite.
+   */
+  private Future<Void> write(List<Request> requests, int length) {
+    int referenced = 0;
+    for (Request request : requests) {
+      referenced += ((RequestImpl) request).referencedLength();
+    }
+
+    final int copied = length - referenced;
+    final ByteBuf buffer = netSocket instanceof NetSocketInternal ?
+      ByteBufAllocator.DEFAULT.directBuffer(copied, copied) :
+      Unpooled.buffer(copied, copied);
+    final OutboundMessage message = new OutboundMessage(buffer);
+    final List<Object> parts;
+    try {
+      for (Request request : requests) {
+        ((RequestImpl) request).encode(buffer, message);
+      }
+      parts = message.complete();
+    } catch (RuntimeException e) {
+      message.release();
+      throw e;
+    }
+
+    if (uploads != null) {
+      // a streamed argument is being written, this message is written once it ends
+      final Promise<Void> promise = context.promise();
+      uploads.add(new QueuedWrite(parts, promise));
+      return promise.future();
+    }
+    return writeParts(parts);
+  }
+
+  private Future<Void> writeParts(List<Object> parts) {
+    if (parts.size() == 1) {
+      return writeMessage((ByteBuf) parts.get(0));
+    }
+    // the message has streamed arguments, other messages wait until it has been written
+    uploads = new ArrayDeque<>();
+    final Promise<Void> promise = context.promise();
+    writeParts(parts, 0, promise);
+    return promise.future()
+      .andThen(ar -> {
+        final Deque<QueuedWrite> pending = uploads;
+        uploads = null;
+        if (ar.failed()) {
+          // the bulk has been partially written, the connection cannot be used anymore
+          onUploadDrain = null;
+          forceClose();
+          QueuedWrite next;
+          while ((next = pending.poll()) != null) {
+            next.release(ar.cause());
+          }
           return;
         }
-        // offer all handlers to the waiting queue
-        for (Promise<Response> callback : callbacks) {
-          waiting.offer(callback);
+        QueuedWrite next;
+        while (uploads == null && (next = pending.poll()) != null) {
+          writeParts(next.parts).onComplete(next.promise);
+        }
+        if (uploads != null) {
+          // another upload started, it writes the remaining messages once done
+          uploads.addAll(pending);
         }
+      });
+  }
+
+  /**
+   * A message waiting for a streamed argument to be written.
+   */
+  private static final class QueuedWrite {
+
+    final List<Object> parts;
+    final Promise<Void> promise;
+
+    QueuedWrite(List<Object> parts, Promise<Void> promise) {
+      this.parts = parts;
+      this.promise = promise;
+    }
+
+    void release(Throwable cause) {
+      for (Object part : parts) {
+        ReferenceCountUtil.release(part);
       }
-      // write to the socket
-      try {
-        netSocket.write(messages)
-          // if the write fails, this connection enters an unknown state
-          // which means it should be terminated
-          .onFailure(this::fail);
-      } catch (RuntimeException err) {
-        // is the socket in a broken state?
-        context.execute(err, this::fail);
-        promise.fail(err);
+      promise.fail(cause);
+    }
+  }
+
+  private void writeParts(List<Object> parts, int index, Promise<Void> promise) {
+    Future<Void> last = Future.succeededFuture();
+    for (int i = index; i < parts.size(); i++) {
+      final Object part = parts.get(i);
+      if (part instanceof StreamArgument) {
+        if (autoPipeline != null) {
+          // the data before the stream must be written first
+          autoPipeline.flush();
+        }
+        final int next = i + 1;
+        ((StreamArgument) part).writeTo(context, netSocket, handler -> onUploadDrain = handler)
+          .onSuccess(v -> writeParts(parts, next, promise))
+          .onFailure(err -> {
+            for (int j = next; j < parts.size(); j++) {
+              ReferenceCountUtil.release(parts.get(j));
+            }
+            promise.fail(err);
+          });
+        return;
       }
+      last = writeMessage((ByteBuf) part);
     }
+    last.onComplete(promise);
+  }
+
+  private Future<Void> writeMessage(ByteBuf message) {
+    if (autoPipeline != null) {
+      return autoPipeline.write(message);
+    }
+    return flushMessage(message);
+  }
+
+  private Future<Void> flushMessage(ByteBuf message) {
+    if (netSocket instanceof NetSocketInternal) {
+      // written as a message, a Buffer wrapping a direct buffer would never be released
+      return ((NetSocketInternal) netSocket).writeMessage(message);
+    }
+    return netSocket.write(BufferInternal.buffer(message));
   }
 
   @Override
   public void handle(Response reply) {
     //System.out.println("handle()#" + this.hashCode());
-    final boolean empty;
-    final Promise<Response> req;
-
-    synchronized (waiting) {
-      empty = waiting.isEmpty();
-      if (!empty) {
-        req = waiting.poll();
-      } else {
-        req = null;
-      }
-    }
+    final boolean empty = waiting.isEmpty();
+    final Object entry = empty ? null : nextWaiting();
 
     // pub/sub mode
     if (reply != null && reply.type() == ResponseType.PUSH || empty) {
@@ -400,6 +728,18 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
       return;
     }
 
+    if (entry instanceof BatchReply) {
+      if (!((BatchReply) entry).reply(reply)) {
+        // call the exception handler if any
+        if (onException != null) {
+          context.execute(new IllegalStateException("Result is already complete: [" + entry + "]"), onException);
+        }
+      }
+      replied();
+      return;
+    }
+
+    final Promise<Response> req = promiseOf(entry);
     if (req != null) {
       final boolean resolved;
       if (reply == null) {
@@ -423,12 +763,123 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
     } else {
       LOG.error("No handler waiting for message: " + reply);
     }
+    replied();
+  }
+
+  @Override
+  public boolean bulkStart(int length) {
+    final Object entry = waiting.peek();
+    if (!(entry instanceof BulkReadStream)) {
+      // aggregate as usual
+      return false;
+    }
+    pollWaiting();
+    replied();
+    bulkStream = (BulkReadStream) entry;
+    bulkStream.begin();
+    return true;
+  }
+
+  @Override
+  public void bulkChunk(Buffer chunk) {
+    bulkStream.write(chunk);
+  }
+
+  @Override
+  public void bulkEnd() {
+    final BulkReadStream stream = bulkStream;
+    bulkStream = null;
+    stream.end();
+  }
+
+  @Override
+  public boolean multiStart(long length, boolean map) {
+    final Object entry = waiting.peek();
+    if (!(entry instanceof MultiReadStream)) {
+      // aggregate as usual
+      return false;
+    }
+    pollWaiting();
+    replied();
+    multiStream = (MultiReadStream) entry;
+    multiStream.begin(map);
+    return true;
+  }
+
+  @Override
+  public void multiElement(Response element) {
+    multiStream.element(element);
+  }
+
+  @Override
+  public void multiEnd() {
+    final MultiReadStream stream = multiStream;
+    multiStream = null;
+    stream.end();
+  }
+
+  @Override
+  public ReplyDecoder<?> decodeStart() {
+    final Object entry = waiting.peek();
+    if (!(entry instanceof DecodingReply)) {
+      // handle as usual
+      return null;
+    }
+    pollWaiting();
+    replied();
+    decoding = (DecodingReply<?>) entry;
+    return decoding;
+  }
+
+  @Override
+  public void decodeEnd() {
+    final DecodingReply<?> reply = decoding;
+    decoding = null;
+    reply.complete();
+  }
+
+  /**
+   * Takes the entry the next reply belongs to, a batch stays in the waiting queue until its last reply.
+   */
+  private Object nextWaiting() {
+    final Object entry = waiting.peek();
+    if (entry instanceof BatchReply && !((BatchReply) entry).take()) {
+      waiting.release();
+      if (inFlightLimit != null) {
+        inFlightLimit.replied();
+      }
+      return entry;
+    }
+    return pollWaiting();
+  }
+
+  private Object pollWaiting() {
+    final Object entry = waiting.poll();
+    if (inFlightLimit != null) {
+      inFlightLimit.replied();
+    }
+    return entry;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Promise<Response> promiseOf(Object entry) {
+    if (entry instanceof ReplyReadStream) {
+      return ((ReplyReadStream<?>) entry).reply();
+    }
+    if (entry instanceof DecodingReply) {
+      return ((DecodingReply<?>) entry).reply();
+    }
+    return (Promise<Response>) entry;
   }
 
   public synchronized void end(Void v) {
     //System.out.println("end()#" + this.hashCode());
-    assert !closed;
+    if (closed) {
+      // already failed, e.g.: the socket is closed after a write failure
+      return;
+    }
     closed = true;
+    cancelRotation();
     // evict this connection from the pool
     evict();
     // clean up the pending queue
@@ -442,8 +893,12 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
   @Override
   public synchronized void fail(Throwable t) {
     //System.out.println("fail()#" + this.hashCode());
-    assert !closed;
+    if (closed) {
+      // a write failure and a socket exception can both end the connection
+      return;
+    }
     closed = true;
+    cancelRotation();
     // evict this connection from the pool
     evict();
     // if there are still "on going" requests
@@ -486,21 +941,47 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
 
   private synchronized void cleanupQueue(Throwable t) {
     //System.out.println("cleanupQueue()#" + this.hashCode());
-    Promise<Response> req;
-    synchronized (waiting) {
-      while ((req = waiting.poll()) != null) {
-        if (req instanceof PromiseInternal) {
-          if (((PromiseInternal<?>) req).isComplete()) {
-            // skip if already resolved
-            continue;
-          }
-        }
-        try {
-          req.tryFail(t);
-        } catch (RuntimeException err) {
-          LOG.warn("Exception while running cleanup", err);
+    // the streams are interrupted
+    if (bulkStream != null) {
+      bulkStream.fail(t);
+      bulkStream = null;
+    }
+    if (multiStream != null) {
+      multiStream.fail(t);
+      multiStream = null;
+    }
+    if (decoding != null) {
+      decoding.fail(t);
+      decoding.complete();
+      decoding = null;
+    }
+    if (inFlightLimit != null) {
+      inFlightLimit.clear();
+    }
+    if (parked != null) {
+      Parked send;
+      while ((send = parked.poll()) != null) {
+        send.promise.tryFail(t);
+      }
+    }
+    Object entry;
+    while ((entry = waiting.poll()) != null) {
+      if (entry instanceof BatchReply) {
+        ((BatchReply) entry).fail(t);
+        continue;
+      }
+      final Promise<Response> req = promiseOf(entry);
+      if (req instanceof PromiseInternal) {
+        if (((PromiseInternal<?>) req).isComplete()) {
+          // skip if already resolved
+          continue;
         }
       }
+      try {
+        req.tryFail(t);
+      } catch (RuntimeException err) {
+        LOG.warn("Exception while running cleanup", err);
+      }
     }
   }
 
@@ -542,4 +1023,16 @@ public class RedisStandaloneConnection implements RedisConnectionInternal, Parse
   void setServerType(String serverType) {
     this.serverType = serverType;
   }
+
+  private static final class Parked {
+    final int slots;
+    final Promise<?> promise;
+    final Runnable write;
+
+    Parked(int slots, Promise<?> promise, Runnable write) {
+      this.slots = slots;
+      this.promise = promise;
+      this.write = write;
+    }
+  }
 }
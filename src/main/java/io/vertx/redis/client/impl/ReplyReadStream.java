@@ -0,0 +1,242 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client.impl;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.internal.PromiseInternal;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.redis.client.Response;
+
+import java.util.ArrayDeque;
+
+/**
+ * A reply delivered in parts, as they are parsed, instead of being aggregated in memory.
+ * <p>
+ * The stream applies back pressure on the connection: while there is no demand (or no handler yet)
+ * the connection socket is paused, the parts that were already received are kept until there is demand.
+ * Only the pause of the stream is released, a pause of the connection by the application is kept.
+ * <p>
+ * Not thread safe, all the state is accessed from the connection context. The handlers are called on the
+ * context of the caller that sent the request.
+ */
+abstract class ReplyReadStream<T> implements ReadStream<T> {
+
+  // the pending queue does not accept nulls, which are valid elements of aggregate replies
+  private static final Object NULL = new Object();
+
+  private final ContextInternal context;
+  // the context of the caller, where the handlers are called
+  private final ContextInternal subscriber;
+  private final RedisStandaloneConnection connection;
+  private final Promise<ReadStream<T>> promise;
+  // completed when the reply is not streamed by the parser (null, error, ...)
+  private final Promise<Response> reply;
+
+  private final ArrayDeque<Object> pending = new ArrayDeque<>();
+  private Handler<T> handler;
+  private Handler<Void> endHandler;
+  private Handler<Throwable> exceptionHandler;
+  private long demand = Long.MAX_VALUE;
+  private boolean ended;
+  private boolean endNotified;
+  private boolean socketPaused;
+
+  ReplyReadStream(ContextInternal context, RedisStandaloneConnection connection, Promise<ReadStream<T>> promise) {
+    this.context = context;
+    this.subscriber = promise instanceof PromiseInternal ? ((PromiseInternal<?>) promise).context() : context;
+    this.connection = connection;
+    this.promise = promise;
+    if (context != null) {
+      this.reply = context.promise();
+      this.reply.future().onComplete(ar -> handleReply(ar));
+    } else {
+      this.reply = null;
+    }
+  }
+
+  /**
+   * The promise to be completed when the reply is received in full.
+   */
+  Promise<Response> reply() {
+    return reply;
+  }
+
+  /**
+   * Splits a reply that has been received in full into the parts of this stream.
+   *
+   * @param response a non {@code null} reply
+   * @throws IllegalStateException when the reply cannot be streamed
+   */
+  abstract void aggregated(Response response);
+
+  /**
+   * Ends this stream with the parts of a reply that has been received in full.
+   */
+  final ReadStream<T> completed(@Nullable Response response) {
+    if (response != null) {
+      aggregated(response);
+    }
+    ended = true;
+    return this;
+  }
+
+  private void handleReply(AsyncResult<Response> ar) {
+    if (ar.failed()) {
+      promise.tryFail(ar.cause());
+      return;
+    }
+
+    try {
+      completed(ar.result());
+    } catch (IllegalStateException e) {
+      promise.tryFail(e);
+      return;
+    }
+    promise.tryComplete(this);
+  }
+
+  // parser side
+
+  void begin() {
+    promise.tryComplete(this);
+  }
+
+  void write(@Nullable T item) {
+    pending.add(item == null ? NULL : item);
+    drain();
+  }
+
+  void end() {
+    ended = true;
+    drain();
+  }
+
+  void fail(Throwable t) {
+    ended = true;
+    if (!promise.tryFail(t)) {
+      if (exceptionHandler != null) {
+        emit(exceptionHandler, t);
+      }
+    }
+  }
+
+  // application side
+
+  @Override
+  public ReadStream<T> exceptionHandler(@Nullable Handler<Throwable> handler) {
+    run(() -> this.exceptionHandler = handler);
+    return this;
+  }
+
+  @Override
+  public ReadStream<T> handler(@Nullable Handler<T> handler) {
+    run(() -> {
+      this.handler = handler;
+      drain();
+    });
+    return this;
+  }
+
+  @Override
+  public ReadStream<T> pause() {
+    run(() -> demand = 0L);
+    return this;
+  }
+
+  @Override
+  public ReadStream<T> resume() {
+    return fetch(Long.MAX_VALUE);
+  }
+
+  @Override
+  public ReadStream<T> fetch(long amount) {
+    run(() -> {
+      demand += amount;
+      if (demand < 0L) {
+        // overflow
+        demand = Long.MAX_VALUE;
+      }
+      drain();
+    });
+    return this;
+  }
+
+  @Override
+  public ReadStream<T> endHandler(@Nullable Handler<Void> endHandler) {
+    run(() -> {
+      this.endHandler = endHandler;
+      drain();
+    });
+    return this;
+  }
+
+  private void run(Runnable action) {
+    if (context == null) {
+      action.run();
+    } else {
+      context.execute(action);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void drain() {
+    while (handler != null && demand > 0L && !pending.isEmpty()) {
+      final Object item = pending.poll();
+      if (demand != Long.MAX_VALUE) {
+        demand--;
+      }
+      emit(handler, item == NULL ? null : (T) item);
+    }
+
+    if (ended) {
+      if (pending.isEmpty() && !endNotified && endHandler != null) {
+        endNotified = true;
+        emit(endHandler, null);
+      }
+      // the remaining data on the socket belongs to other replies
+      flow(false);
+    } else {
+      // stop reading from the socket while parts are waiting for demand
+      flow(!pending.isEmpty());
+    }
+  }
+
+  /**
+   * Calls the handler on the caller context, in order with the other events of this stream.
+   */
+  private <E> void emit(Handler<E> handler, E event) {
+    if (subscriber == null || subscriber == context) {
+      handler.handle(event);
+    } else {
+      subscriber.execute(event, handler);
+    }
+  }
+
+  private void flow(boolean pause) {
+    if (connection != null && pause != socketPaused) {
+      socketPaused = pause;
+      if (pause) {
+        connection.streamPause();
+      } else {
+        connection.streamResume();
+      }
+    }
+  }
+}
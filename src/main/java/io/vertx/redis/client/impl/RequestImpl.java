@@ -15,17 +15,24 @@
  */
 package io.vertx.redis.client.impl;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.internal.buffer.BufferInternal;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.redis.client.Command;
 import io.vertx.redis.client.Request;
 
 import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
+import static io.vertx.redis.client.impl.RESPEncoder.numLength;
 import static io.vertx.redis.client.impl.RESPEncoder.numToBytes;
 
 public final class RequestImpl implements Request {
@@ -35,12 +42,23 @@ public final class RequestImpl implements Request {
   private static final byte[] EOL = "\r\n".getBytes(StandardCharsets.ISO_8859_1);
   private static final byte[] TRUE = new byte[]{'t'};
   private static final byte[] FALSE = new byte[]{'f'};
+  // buffer arguments passed by reference of at least this size are written as they are instead of being copied
+  private static final int ZERO_COPY_THRESHOLD = Integer.getInteger("io.vertx.redis.encoder.zeroCopyThreshold", 1024);
 
   private final CommandImpl cmd;
-  private final List<byte[]> args;
+  // either byte[], Buffer, String or StreamArgument, buffers are only kept when passed by reference and are only
+  // copied when encoded to a single buffer, strings are encoded to UTF-8 straight into the output buffer
+  private final List<Object> args;
+  // number of streamed arguments
+  private int streams;
+  // the pre-encoded fixed parts of this request, null when not created from a template
+  private final RequestTemplateImpl template;
+  // the buffer and string arguments converted to bytes once inspected, by index
+  private byte[][] inspected;
 
   public RequestImpl(Command cmd) {
     this.cmd = (CommandImpl) cmd;
+    this.template = null;
 
     if (this.cmd.getArity() != 0) {
       args = new ArrayList<>(Math.abs(this.cmd.getArity()));
@@ -51,6 +69,7 @@ public final class RequestImpl implements Request {
 
   public RequestImpl(Command cmd, Object[] args) {
     this.cmd = (CommandImpl) cmd;
+    this.template = null;
 
     if (args == null) {
       this.args = Collections.emptyList();
@@ -58,24 +77,43 @@ public final class RequestImpl implements Request {
     }
 
     for (int i = 0; i < args.length; i++) {
-      final Object o = args[i];
-      if (o == null) {
-        throw new IllegalArgumentException("Null argument at index " + i);
-      } else if (o instanceof Number) {
-        args[i] = o.toString().getBytes(StandardCharsets.US_ASCII);
-      } else if (o instanceof Boolean) {
-        args[i] = ((Boolean) o) ? TRUE : FALSE;
-      } else if (o instanceof String) {
-        args[i] = ((String) o).getBytes(StandardCharsets.UTF_8);
-      } else if (o instanceof byte[]) {
-        // already OK
-      } else if (o instanceof Buffer) {
-        args[i] = ((Buffer) o).getBytes();
-      } else {
-        throw new IllegalArgumentException("Unsupported argument type at index " + i + ": " + o.getClass());
-      }
+      args[i] = argument(args[i], i);
+    }
+    this.args = Arrays.asList(args);
+  }
+
+  RequestImpl(RequestTemplateImpl template, Object[] args) {
+    // the arguments already hold the constants of the template, only the variables are converted
+    this.cmd = template.command();
+    this.template = template;
+
+    for (int i : template.variables()) {
+      args[i] = argument(args[i], i);
+    }
+    this.args = Arrays.asList(args);
+  }
+
+  /**
+   * Converts a simple type argument to the form it is kept in, see {@link Request#cmd(Command, Object...)}.
+   */
+  static Object argument(Object o, int i) {
+    if (o == null) {
+      throw new IllegalArgumentException("Null argument at index " + i);
+    } else if (o instanceof Number) {
+      return o.toString().getBytes(StandardCharsets.US_ASCII);
+    } else if (o instanceof Boolean) {
+      return ((Boolean) o) ? TRUE : FALSE;
+    } else if (o instanceof String) {
+      return ((String) o).isEmpty() ? EMPTY_BYTES : o;
+    } else if (o instanceof byte[]) {
+      // already OK
+      return o;
+    } else if (o instanceof Buffer) {
+      // copied, the caller may reuse it
+      return ((Buffer) o).length() == 0 ? EMPTY_BYTES : ((Buffer) o).getBytes();
+    } else {
+      throw new IllegalArgumentException("Unsupported argument type at index " + i + ": " + o.getClass());
     }
-    this.args = (List) Arrays.asList(args);
   }
 
   @Override
@@ -89,7 +127,7 @@ public final class RequestImpl implements Request {
 
   @Override
   public Request arg(long arg) {
-    args.add(numToBytes(arg));
+    add(numToBytes(arg));
     return this;
   }
 
@@ -102,13 +140,23 @@ public final class RequestImpl implements Request {
 
   // bulk string
 
+  @Override
+  public Request arg(String arg) {
+    if (arg == null) {
+      throw new IllegalArgumentException("Null argument not allowed");
+    }
+
+    add(arg.isEmpty() ? EMPTY_BYTES : arg);
+    return this;
+  }
+
   @Override
   public Request arg(byte[] arg) {
     if (arg == null) {
       throw new IllegalArgumentException("Null argument not allowed");
     }
 
-    args.add(arg);
+    add(arg);
     return this;
   }
 
@@ -118,58 +166,290 @@ public final class RequestImpl implements Request {
       throw new IllegalArgumentException("Null argument not allowed");
     }
 
+    add(arg.length() == 0 ? EMPTY_BYTES : arg.getBytes());
+    return this;
+  }
+
+  @Override
+  public Request argByReference(Buffer arg) {
+    if (arg == null) {
+      throw new IllegalArgumentException("Null argument not allowed");
+    }
+
     if (arg.length() == 0) {
-      args.add(EMPTY_BYTES);
+      add(EMPTY_BYTES);
       return this;
     }
 
-    args.add(arg.getBytes());
+    add(arg);
     return this;
   }
 
+  @Override
+  public Request arg(ReadStream<Buffer> stream, long length) {
+    if (stream == null) {
+      throw new IllegalArgumentException("Null argument not allowed");
+    }
+    if (length < 0 || length > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid length: " + length);
+    }
+
+    if (length == 0) {
+      add(EMPTY_BYTES);
+      return this;
+    }
+
+    add(new StreamArgument(stream, (int) length));
+    streams++;
+    return this;
+  }
+
+  private void add(Object arg) {
+    if (template != null) {
+      // the encoding of a template request is fixed
+      throw new IllegalStateException("Arguments cannot be added to a request created from a template");
+    }
+    args.add(arg);
+  }
+
   public Buffer encode() {
-    return encode(Buffer.buffer());
+    if (streams > 0) {
+      throw new IllegalStateException("Streamed arguments cannot be encoded to a single buffer");
+    }
+    final ByteBuf buffer = Unpooled.buffer(encodedLength());
+    encode(buffer, null);
+    return BufferInternal.buffer(buffer);
+  }
+
+  /**
+   * The exact length of the encoded request, computed without encoding it.
+   */
+  public int encodedLength() {
+    if (template != null) {
+      int length = template.fixedLength();
+      for (int i : template.variables()) {
+        length += bulkLength(args.get(i));
+      }
+      return length;
+    }
+
+    // array header and command
+    int length = 1 + numLength(args.size() + 1) + EOL.length + cmd.getBytes().length;
+
+    for (final Object arg : args) {
+      length += bulkLength(arg);
+    }
+
+    return length;
   }
 
-  Buffer encode(Buffer buffer) {
+  /**
+   * The length of the arguments that {@link #encode(ByteBuf, OutboundMessage)} writes by reference or streams,
+   * these bytes are not written to the given buffer.
+   */
+  int referencedLength() {
+    int length = 0;
+    if (template != null) {
+      // the constants of a template are pre-encoded
+      for (int i : template.variables()) {
+        length += referencedLength(args.get(i));
+      }
+    } else {
+      for (final Object arg : args) {
+        length += referencedLength(arg);
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Encodes this request to the given buffer. When a message is given, large arguments are not copied, they
+   * are added by reference to the message, as well as streamed arguments. Otherwise all data is copied.
+   */
+  void encode(ByteBuf buffer, OutboundMessage message) {
+    if (template != null) {
+      // the fixed parts are written as they are, only the variables are encoded
+      final int[] variables = template.variables();
+      final byte[][] segments = template.segments();
+      for (int i = 0; i < variables.length; i++) {
+        buffer.writeBytes(segments[i]);
+        encode(buffer, message, args.get(variables[i]));
+      }
+      buffer.writeBytes(segments[variables.length]);
+      return;
+    }
+
     buffer
       // array header
-      .appendByte((byte) '*')
-      .appendBytes(numToBytes(args.size() + 1))
-      .appendBytes(EOL)
+      .writeByte('*')
+      .writeBytes(numToBytes(args.size() + 1))
+      .writeBytes(EOL)
       // command
-      .appendBytes(cmd.getBytes());
+      .writeBytes(cmd.getBytes());
+
+    for (final Object arg : args) {
+      encode(buffer, message, arg);
+    }
+  }
 
-    for (final byte[] arg : args) {
-      if (arg.length == 0) {
-        buffer.appendBytes(EMPTY_BULK);
-        continue;
+  static void encode(ByteBuf buffer, OutboundMessage message, Object arg) {
+    final int argLength = length(arg);
+    if (argLength == 0) {
+      buffer.writeBytes(EMPTY_BULK);
+      return;
+    }
+
+    buffer
+      .writeByte('$')
+      .writeBytes(numToBytes(argLength))
+      .writeBytes(EOL);
+
+    if (arg instanceof String) {
+      ByteBufUtil.writeUtf8(buffer, (String) arg);
+    } else if (arg instanceof StreamArgument) {
+      if (message == null) {
+        throw new IllegalStateException("Streamed arguments cannot be encoded to a single buffer");
       }
+      message.stream((StreamArgument) arg);
+    } else if (message != null && arg instanceof Buffer && argLength >= ZERO_COPY_THRESHOLD) {
+      // the argument belongs to the caller so releasing the message must not release it
+      message.reference(Unpooled.unreleasableBuffer(((BufferInternal) arg).getByteBuf()));
+    } else if (arg instanceof byte[]) {
+      buffer.writeBytes((byte[]) arg);
+    } else {
+      final ByteBuf payload = ((BufferInternal) arg).getByteBuf();
+      buffer.writeBytes(payload, payload.readerIndex(), argLength);
+    }
 
-      buffer
-        .appendByte((byte) '$')
-        .appendBytes(numToBytes(arg.length))
-        .appendBytes(EOL)
-        .appendBytes(arg)
-        .appendBytes(EOL);
+    buffer.writeBytes(EOL);
+  }
+
+  /**
+   * The length of the argument once encoded as a bulk string.
+   */
+  static int bulkLength(Object arg) {
+    final int argLength = length(arg);
+    if (argLength == 0) {
+      return EMPTY_BULK.length;
     }
+    return 1 + numLength(argLength) + EOL.length + argLength + EOL.length;
+  }
 
-    return buffer;
+  private static int referencedLength(Object arg) {
+    if (arg instanceof String) {
+      return 0;
+    }
+    if (arg instanceof StreamArgument) {
+      return ((StreamArgument) arg).length();
+    }
+    if (arg instanceof Buffer) {
+      final int argLength = length(arg);
+      return argLength >= ZERO_COPY_THRESHOLD ? argLength : 0;
+    }
+    return 0;
   }
 
   public List<byte[]> getArgs() {
-    return args;
+    // buffer and string arguments are only converted when inspected, e.g.: to locate keys
+    return new AbstractList<>() {
+      @Override
+      public byte[] get(int index) {
+        return inspect(index);
+      }
+
+      @Override
+      public int size() {
+        return args.size();
+      }
+    };
   }
 
   public List<byte[]> keys() {
-    return cmd.extractKeys(args);
+    if (template != null && template.keys() != null) {
+      // the key positions do not depend on the variables
+      final int[] keys = template.keys();
+      final List<byte[]> args = getArgs();
+      final List<byte[]> collector = new ArrayList<>(keys.length);
+      for (int key : keys) {
+        collector.add(args.get(key));
+      }
+      return collector;
+    }
+    return cmd.extractKeys(getArgs());
+  }
+
+  public boolean readOnly() {
+    if (template != null && template.readOnly() != null) {
+      return template.readOnly();
+    }
+    return cmd.isReadOnly(getArgs());
+  }
+
+  /**
+   * Converts the argument at the given index, each argument is converted once however many times it is inspected.
+   */
+  private byte[] inspect(int index) {
+    final Object arg = args.get(index);
+    if (arg instanceof byte[]) {
+      return (byte[]) arg;
+    }
+    if (inspected == null) {
+      inspected = new byte[args.size()][];
+    } else if (inspected.length < args.size()) {
+      // arguments were added since
+      inspected = Arrays.copyOf(inspected, args.size());
+    }
+    byte[] bytes = inspected[index];
+    if (bytes == null) {
+      bytes = bytes(arg);
+      inspected[index] = bytes;
+    }
+    return bytes;
+  }
+
+  static byte[] bytes(Object arg) {
+    if (arg instanceof byte[]) {
+      return (byte[]) arg;
+    }
+    if (arg instanceof StreamArgument) {
+      throw new IllegalStateException("Streamed arguments cannot be inspected");
+    }
+    return arg instanceof String ? ((String) arg).getBytes(StandardCharsets.UTF_8) : ((Buffer) arg).getBytes();
+  }
+
+  private static int length(Object arg) {
+    if (arg instanceof byte[]) {
+      return ((byte[]) arg).length;
+    }
+    if (arg instanceof StreamArgument) {
+      return ((StreamArgument) arg).length();
+    }
+    // the UTF-8 length is computed from the characters, nothing is encoded
+    return arg instanceof String ? ByteBufUtil.utf8Bytes((String) arg) : ((Buffer) arg).length();
   }
 
   @Override
   public String toString() {
+    if (streams > 0) {
+      // streams are described, their data is not available
+      final Object[] printable = args.toArray();
+      for (int i = 0; i < printable.length; i++) {
+        if (printable[i] instanceof StreamArgument) {
+          printable[i] = printable[i].toString();
+        }
+      }
+      return new RequestImpl(cmd, printable).toString();
+    }
     return encode().toString();
   }
 
+  /**
+   * @return {@code true} when the request has streamed arguments, it can then only be written once
+   */
+  public boolean streamed() {
+    return streams > 0;
+  }
+
   public boolean valid() {
     int arity = cmd.getArity();
     int arglen = args.size() + 1;
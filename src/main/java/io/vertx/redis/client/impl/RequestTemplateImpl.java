@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.RequestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.vertx.redis.client.impl.RESPEncoder.numToBytes;
+
+public final class RequestTemplateImpl implements RequestTemplate {
+
+  private static final byte[] EMPTY_BYTES = new byte[0];
+
+  private final CommandImpl cmd;
+  // the constants, converted, with VAR at the variables positions
+  private final Object[] args;
+  // positions of the variables
+  private final int[] variables;
+  // the encoded data before, between and after the variables
+  private final byte[][] segments;
+  private final int fixedLength;
+  // routing information, null when it depends on the variables
+  private final Boolean readOnly;
+  private final int[] keys;
+
+  public RequestTemplateImpl(Command command, Object[] args) {
+    this.cmd = (CommandImpl) command;
+    this.args = args == null ? new Object[0] : args.clone();
+
+    int count = 0;
+    for (int i = 0; i < this.args.length; i++) {
+      if (this.args[i] == VAR) {
+        count++;
+      } else {
+        this.args[i] = RequestImpl.argument(this.args[i], i);
+      }
+    }
+
+    variables = new int[count];
+    segments = new byte[count + 1][];
+
+    final ByteBuf buffer = Unpooled.buffer();
+    buffer
+      // array header
+      .writeByte('*')
+      .writeBytes(numToBytes(this.args.length + 1))
+      .writeBytes("\r\n".getBytes(StandardCharsets.ISO_8859_1))
+      // command
+      .writeBytes(cmd.getBytes());
+
+    int fixedLength = 0;
+    for (int i = 0, v = 0; i < this.args.length; i++) {
+      if (this.args[i] == VAR) {
+        variables[v] = i;
+        segments[v++] = segment(buffer);
+      } else {
+        RequestImpl.encode(buffer, null, this.args[i]);
+      }
+    }
+    segments[count] = segment(buffer);
+    for (byte[] segment : segments) {
+      fixedLength += segment.length;
+    }
+    this.fixedLength = fixedLength;
+
+    // the routing information is only resolved once when the variables are never inspected
+    final Probe probe = new Probe();
+    final boolean ro = cmd.isReadOnly(probe);
+    readOnly = probe.dependent ? null : ro;
+    keys = probe.keys(cmd);
+  }
+
+  @Override
+  public Request request(Object... values) {
+    if (values == null || values.length != variables.length) {
+      throw new IllegalArgumentException("Expected " + variables.length + " values, got " + (values == null ? 0 : values.length));
+    }
+    final Object[] args = this.args.clone();
+    for (int i = 0; i < variables.length; i++) {
+      args[variables[i]] = values[i];
+    }
+    return new RequestImpl(this, args);
+  }
+
+  private static byte[] segment(ByteBuf buffer) {
+    final byte[] segment = ByteBufUtil.getBytes(buffer);
+    buffer.clear();
+    return segment;
+  }
+
+  CommandImpl command() {
+    return cmd;
+  }
+
+  int[] variables() {
+    return variables;
+  }
+
+  byte[][] segments() {
+    return segments;
+  }
+
+  int fixedLength() {
+    return fixedLength;
+  }
+
+  Boolean readOnly() {
+    return readOnly;
+  }
+
+  int[] keys() {
+    return keys;
+  }
+
+  /**
+   * The arguments of this template as seen by the key locators, records whether a variable has been inspected.
+   */
+  private final class Probe extends AbstractList<byte[]> {
+
+    boolean dependent;
+
+    @Override
+    public byte[] get(int index) {
+      final Object arg = args[index];
+      if (arg == VAR) {
+        dependent = true;
+        return EMPTY_BYTES;
+      }
+      return RequestImpl.bytes(arg);
+    }
+
+    @Override
+    public int size() {
+      return args.length;
+    }
+
+    int[] keys(CommandImpl cmd) {
+      dependent = false;
+      final List<Integer> collector = new ArrayList<>();
+      try {
+        cmd.iterateKeys(this, (begin, keyIdx, keyStep) -> collector.add(keyIdx));
+      } catch (RuntimeException e) {
+        // e.g.: the number of keys is a variable
+        return null;
+      }
+      if (dependent) {
+        return null;
+      }
+      final int[] keys = new int[collector.size()];
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = collector.get(i);
+      }
+      return keys;
+    }
+  }
+}
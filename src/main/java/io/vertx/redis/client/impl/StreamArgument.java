@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.function.Consumer;
+
+/**
+ * A request argument whose value is read from a stream, when the request is written.
+ */
+final class StreamArgument {
+
+  private final ReadStream<Buffer> stream;
+  private final int length;
+  private boolean consumed;
+
+  StreamArgument(ReadStream<Buffer> stream, int length) {
+    this.stream = stream;
+    this.length = length;
+  }
+
+  int length() {
+    return length;
+  }
+
+  /**
+   * Writes the stream to the socket, applying back pressure to the stream when the socket write queue is full.
+   * The stream must provide exactly the declared length, otherwise the returned future fails, as the bulk that
+   * has been written is then corrupted. On failure, the stream is paused and no longer handled.
+   *
+   * @param drainHandler registers a handler called once when the socket write queue has room again
+   */
+  Future<Void> writeTo(ContextInternal context, NetSocket socket, Consumer<Handler<Void>> drainHandler) {
+    final Promise<Void> promise = context.promise();
+    if (consumed) {
+      promise.fail("Streamed argument can only be written once");
+      return promise.future();
+    }
+    consumed = true;
+
+    final long[] remaining = {length};
+    // the stream may emit on its own context, the events are handled on the connection context
+    stream.exceptionHandler(err -> context.execute(err, e -> abort(promise, e)));
+    stream.endHandler(v -> context.execute(v, ignored -> {
+      if (remaining[0] != 0) {
+        abort(promise, new IllegalStateException("Streamed argument ended " + remaining[0] + " bytes before its declared length"));
+      } else {
+        promise.tryComplete();
+      }
+    }));
+    stream.handler(chunk -> context.execute(chunk, data -> {
+      if (promise.future().isComplete()) {
+        // aborted, a chunk that was emitted meanwhile
+        return;
+      }
+      remaining[0] -= data.length();
+      if (remaining[0] < 0) {
+        abort(promise, new IllegalStateException("Streamed argument exceeds its declared length of " + length + " bytes"));
+        return;
+      }
+      socket.write(data);
+      if (socket.writeQueueFull()) {
+        stream.pause();
+        drainHandler.accept(drained -> stream.resume());
+      }
+    }));
+    stream.resume();
+    return promise.future();
+  }
+
+  private void abort(Promise<Void> promise, Throwable err) {
+    stream.pause();
+    stream.handler(null);
+    stream.endHandler(null);
+    stream.exceptionHandler(null);
+    promise.tryFail(err);
+  }
+
+  @Override
+  public String toString() {
+    return "<stream of " + length + " bytes>";
+  }
+}
@@ -61,7 +61,8 @@ public final class BulkType implements Response {
 
   @Override
   public String toString(Charset encoding) {
-    return new String(message.getBytes(), encoding);
+    // decode directly from the underlying buffer, avoiding an intermediate byte[]
+    return message.toString(encoding);
   }
 
   @Override
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ * <p>
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ * <p>
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * <p>
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ * <p>
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.redis.client.impl.types;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.redis.client.Response;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An open addressing index over the keys of a map reply. Keys are hashed and compared on their raw bytes,
+ * so neither building the index nor looking up a {@link String} or {@link Buffer} key decodes or allocates
+ * keys.
+ * <p>
+ * Not thread safe.
+ */
+final class MapIndex {
+
+  // maps with up to this number of entries are searched linearly, without an index
+  static final int LINEAR_THRESHOLD = 8;
+
+  // the slots hold the index of a key element plus one, 0 is an empty slot
+  private final int[] slots;
+  private final int mask;
+
+  MapIndex(MultiType map, int length) {
+    // at most half full
+    final int capacity = Integer.highestOneBit(Math.max(4, length * 2 - 1));
+    this.slots = new int[capacity];
+    this.mask = capacity - 1;
+
+    for (int i = 0; i < length; i += 2) {
+      final Response element = map.element(i);
+      final Object key = key(element);
+      int slot = hash(element) & mask;
+      while (slots[slot] != 0 && (key == null || !matches(map.element(slots[slot] - 1), key))) {
+        slot = (slot + 1) & mask;
+      }
+      // a duplicate key replaces the previous one, the last one wins
+      slots[slot] = i + 1;
+    }
+  }
+
+  /**
+   * @return the index of the key element, or {@code -1} when not found
+   */
+  int find(MultiType map, Object key) {
+    int slot = hash(key) & mask;
+    while (slots[slot] != 0) {
+      final int index = slots[slot] - 1;
+      if (matches(map.element(index), key)) {
+        return index;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Whether the given key element is equal to the {@link String} or {@link Buffer} key.
+   */
+  static boolean matches(Response element, Object key) {
+    if (element == null) {
+      return false;
+    }
+    if (key instanceof String) {
+      if (element instanceof BulkType) {
+        return matches(element.toBuffer(), (String) key);
+      }
+      return key.equals(element.toString());
+    }
+    return key.equals(element.toBuffer());
+  }
+
+  /**
+   * The key of the given element, as looked up by {@link #find(MultiType, Object)}.
+   */
+  private static Object key(Response element) {
+    if (element == null) {
+      return null;
+    }
+    return element instanceof BulkType ? element.toBuffer() : element.toString();
+  }
+
+  private static boolean matches(Buffer bytes, String key) {
+    final int len = key.length();
+    // an UTF-8 encoding is never shorter than the number of chars
+    if (bytes.length() < len) {
+      return false;
+    }
+    for (int i = 0; i < len; i++) {
+      final char c = key.charAt(i);
+      if (c >= 0x80) {
+        // not ASCII, compare the decoded value
+        return key.equals(bytes.toString(StandardCharsets.UTF_8));
+      }
+      if (bytes.getByte(i) != c) {
+        return false;
+      }
+    }
+    return bytes.length() == len;
+  }
+
+  private static int hash(Object key) {
+    int h = 1;
+    if (key instanceof BulkType) {
+      key = ((BulkType) key).toBuffer();
+    } else if (key instanceof Response) {
+      key = key.toString();
+    }
+    if (key instanceof String) {
+      final String str = (String) key;
+      for (int i = 0; i < str.length(); i++) {
+        final char c = str.charAt(i);
+        if (c >= 0x80) {
+          // not ASCII, hash the UTF-8 encoding like the bytes of a bulk key
+          return hash(Buffer.buffer(str));
+        }
+        h = 31 * h + c;
+      }
+    } else if (key instanceof Buffer) {
+      final Buffer buf = (Buffer) key;
+      for (int i = 0; i < buf.length(); i++) {
+        h = 31 * h + buf.getByte(i);
+      }
+    }
+    // spread the high bits, the table size is a power of 2
+    return h ^ (h >>> 16);
+  }
+}
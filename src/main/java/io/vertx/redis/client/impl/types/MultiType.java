@@ -27,6 +27,7 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
 /**
  * A Redis MULTI response can represent a List/Set/Map type.
@@ -38,6 +39,9 @@ public final class MultiType implements Multi {
   private static final Function<Response, String> AS_STRING = Response::toString;
   private static final Function<Response, Buffer> AS_BUFFER = Response::toBuffer;
 
+  // placeholder of the elements of a lazy multi that have not been decoded yet
+  private static final Response UNDECODED = () -> ResponseType.SIMPLE;
+
   public static final MultiType EMPTY_MULTI = new MultiType(0, false);
   public static final MultiType EMPTY_MAP = new MultiType(0, true);
 
@@ -45,9 +49,35 @@ public final class MultiType implements Multi {
     return new MultiType((int) length, isMap);
   }
 
-  // elements of this Multi are stored in this array
-  private final Response[] multi;
+  /**
+   * A complete multi whose elements are only decoded when accessed.
+   *
+   * @param length the number of elements, for maps keys and values are counted individually
+   * @param isMap whether the multi is a map
+   * @param decoder decodes the element at the given index
+   */
+  public static MultiType lazy(int length, boolean isMap, IntFunction<Response> decoder) {
+    return new MultiType(length, isMap, decoder);
+  }
+
+  /**
+   * A single key/value pair, the same shape of the elements returned when iterating over a map.
+   */
+  public static MultiType entry(Response key, Response value) {
+    return new MultiType(key, value);
+  }
+
+  // elements of this Multi are stored in this array, unless they are kept as primitives
+  private Response[] multi;
+  // homogeneous numeric arrays are kept as primitives, elements are only wrapped when accessed
+  private long[] longs;
+  private double[] doubles;
+  private final int length;
   private final boolean isMap;
+  // decodes the elements of a lazy multi, null when elements are added by the parser
+  private final IntFunction<Response> decoder;
+  // index of the keys, built on demand for lookups on large maps
+  private MapIndex index;
   // these maps are built on demand from the `multi` array
   private Map<String, Response> strMap;
   private Map<Buffer, Response> binMap;
@@ -58,12 +88,26 @@ public final class MultiType implements Multi {
     this.isMap = isMap;
     // if `isMap`, then the `size` is the number of key-value pairs,
     // so we need to allocate double size for the array
-    this.multi = new Response[isMap ? size * 2 : size];
+    this.length = isMap ? size * 2 : size;
+    // arrays allocate their storage once the type of the first element is known
+    this.multi = isMap || size == 0 ? new Response[length] : null;
+    this.decoder = null;
+  }
+
+  private MultiType(int length, boolean isMap, IntFunction<Response> decoder) {
+    this.isMap = isMap;
+    this.length = length;
+    this.multi = new Response[length];
+    this.decoder = decoder;
+    Arrays.fill(multi, UNDECODED);
+    this.count = length;
   }
 
   private MultiType(Response key, Response value) {
     this.isMap = true;
     this.multi = new Response[]{key, value};
+    this.length = 2;
+    this.decoder = null;
   }
 
   @Override
@@ -73,12 +117,73 @@ public final class MultiType implements Multi {
 
   @Override
   public void add(Response reply) {
+    if (multi == null) {
+      inflate();
+    }
     this.multi[this.count] = reply;
     count++;
   }
 
+  /**
+   * Adds an integer element without wrapping it, as long as all the elements of this array are integers.
+   *
+   * @return {@code false} when the element must be added as a {@link Response}
+   */
+  public boolean add(long value) {
+    if (multi != null || doubles != null) {
+      return false;
+    }
+    if (longs == null) {
+      longs = new long[length];
+    }
+    longs[count++] = value;
+    return true;
+  }
+
+  /**
+   * Adds a double element without wrapping it, as long as all the elements of this array are doubles.
+   *
+   * @return {@code false} when the element must be added as a {@link Response}
+   */
+  public boolean add(double value) {
+    if (multi != null || longs != null) {
+      return false;
+    }
+    if (doubles == null) {
+      doubles = new double[length];
+    }
+    doubles[count++] = value;
+    return true;
+  }
+
+  private void inflate() {
+    // the array is not homogeneous, the primitives added so far are wrapped
+    final Response[] elements = new Response[length];
+    for (int i = 0; i < count; i++) {
+      elements[i] = element(i);
+    }
+    multi = elements;
+    longs = null;
+    doubles = null;
+  }
+
   public boolean complete() {
-    return count == multi.length;
+    return count == length;
+  }
+
+  /**
+   * The element at the given index, for maps keys and values are counted individually.
+   */
+  public Response element(int index) {
+    if (multi == null) {
+      return longs != null ? NumberType.create(longs[index]) : NumberType.create(doubles[index]);
+    }
+    Response element = multi[index];
+    if (element == UNDECODED) {
+      element = decoder.apply(index);
+      multi[index] = element;
+    }
+    return element;
   }
 
   @Override
@@ -86,29 +191,26 @@ public final class MultiType implements Multi {
     if (isMap) {
       throw new RuntimeException("Multi is a Map");
     }
-    return multi[index];
+    return element(index);
   }
 
   @Override
   public Response get(String key) {
-    if (isMap) {
-      buildStrMapIfNeeded();
-      return strMap.get(key);
+    if (!isMap) {
+      // fallback (emulate old behavior)
+      assertCanInterpretMultiAsMap();
     }
-
-    // fallback (emulate old behavior)
-    return findInMultiArray(key, AS_STRING);
+    final int index = indexOfKey(key);
+    return index == -1 ? null : element(index + 1);
   }
 
   @Override
   public boolean containsKey(String key) {
-    if (isMap) {
-      buildStrMapIfNeeded();
-      return strMap.containsKey(key);
+    if (!isMap) {
+      // fallback (emulate old behavior)
+      assertCanInterpretMultiAsMap();
     }
-
-    // fallback (emulate old behavior)
-    return findInMultiArray(key, AS_STRING) != null;
+    return indexOfKey(key) != -1;
   }
 
   @Override
@@ -124,24 +226,21 @@ public final class MultiType implements Multi {
 
   @Override
   public Response get(Buffer key) {
-    if (isMap) {
-      buildBinMapIfNeeded();
-      return binMap.get(key);
+    if (!isMap) {
+      // fallback (emulate old behavior)
+      assertCanInterpretMultiAsMap();
     }
-
-    // fallback (emulate old behavior)
-    return findInMultiArray(key, AS_BUFFER);
+    final int index = indexOfKey(key);
+    return index == -1 ? null : element(index + 1);
   }
 
   @Override
   public boolean containsKey(Buffer key) {
-    if (isMap) {
-      buildBinMapIfNeeded();
-      return binMap.containsKey(key);
+    if (!isMap) {
+      // fallback (emulate old behavior)
+      assertCanInterpretMultiAsMap();
     }
-
-    // fallback (emulate old behavior)
-    return findInMultiArray(key, AS_BUFFER) != null;
+    return indexOfKey(key) != -1;
   }
 
   @Override
@@ -157,7 +256,57 @@ public final class MultiType implements Multi {
 
   @Override
   public int size() {
-    return multi.length;
+    return length;
+  }
+
+  @Override
+  public long[] toLongArray() {
+    if (longs != null) {
+      // the primitives back this response, the caller gets its own copy
+      return Arrays.copyOf(longs, length);
+    }
+    final long[] array = new long[length];
+    for (int i = 0; i < length; i++) {
+      if (doubles != null) {
+        array[i] = (long) doubles[i];
+      } else {
+        final Response element = element(i);
+        array[i] = element == null ? 0L : element.toLong();
+      }
+    }
+    return array;
+  }
+
+  @Override
+  public double[] toDoubleArray() {
+    if (doubles != null) {
+      // the primitives back this response, the caller gets its own copy
+      return Arrays.copyOf(doubles, length);
+    }
+    final double[] array = new double[length];
+    for (int i = 0; i < length; i++) {
+      if (longs != null) {
+        array[i] = longs[i];
+      } else {
+        final Response element = element(i);
+        array[i] = element == null ? Double.NaN : element.toDouble();
+      }
+    }
+    return array;
+  }
+
+  @Override
+  public boolean[] toBooleanArray() {
+    final boolean[] array = new boolean[length];
+    for (int i = 0; i < length; i++) {
+      if (longs != null) {
+        array[i] = longs[i] == 1L;
+      } else {
+        final Response element = element(i);
+        array[i] = element != null && Boolean.TRUE.equals(element.toBoolean());
+      }
+    }
+    return array;
   }
 
   @Override
@@ -177,7 +326,8 @@ public final class MultiType implements Multi {
     if (!isMap) {
       sb.append('[');
       boolean more = false;
-      for (Response r : multi) {
+      for (int i = 0; i < length; i++) {
+        final Response r = element(i);
         if (more) {
           sb.append(", ");
         }
@@ -211,16 +361,16 @@ public final class MultiType implements Multi {
 
       @Override
       public boolean hasNext() {
-        return idx < multi.length;
+        return idx < length;
       }
 
       @Override
       public Response next() {
         if (isMap) {
           // wrap the key/value pair into a single multi response
-          return new MultiType(multi[idx++], multi[idx++]);
+          return new MultiType(element(idx++), element(idx++));
         } else {
-          return multi[idx++];
+          return element(idx++);
         }
       }
     };
@@ -228,7 +378,7 @@ public final class MultiType implements Multi {
 
   private void assertCanInterpretMultiAsMap() {
     // if the size is even, we assume we can handle it as Map
-    if (multi.length % 2 != 0) {
+    if (length % 2 != 0) {
       throw new RuntimeException("Number of elements is not even, can't handle as Map");
     }
   }
@@ -238,28 +388,32 @@ public final class MultiType implements Multi {
 
     Set<K> convertedKeys = new LinkedHashSet<>();
     // if the size is even, we assume we can handle it as Map
-    for (int i = 0; i < multi.length; i += 2) {
-      switch (multi[i].type()) {
+    for (int i = 0; i < length; i += 2) {
+      switch (element(i).type()) {
         case BULK:
         case SIMPLE:
-          convertedKeys.add(converter.apply(multi[i]));
+          convertedKeys.add(converter.apply(element(i)));
           break;
       }
     }
     return convertedKeys;
   }
 
-  private <K> Response findInMultiArray(K key, Function<Response, K> converter) {
-    assertCanInterpretMultiAsMap();
-
-    for (int i = 0; i < multi.length; i += 2) {
-      K respInKeyFormat = converter.apply(multi[i]);
-      if (key.equals(respInKeyFormat)) {
-        return multi[i + 1];
+  private int indexOfKey(Object key) {
+    // keys are compared on their raw bytes, neither decoded nor collected into a map,
+    // the last of duplicate keys wins, like when the entries are put in a map in order
+    if (length <= MapIndex.LINEAR_THRESHOLD * 2) {
+      for (int i = length - 2; i >= 0; i -= 2) {
+        if (MapIndex.matches(element(i), key)) {
+          return i;
+        }
       }
+      return -1;
+    }
+    if (index == null) {
+      index = new MapIndex(this, length);
     }
-    // not found
-    return null;
+    return index.find(this, key);
   }
 
   private void buildStrMapIfNeeded() {
@@ -268,10 +422,10 @@ public final class MultiType implements Multi {
     }
     // redis tracks the order of entries in hashes, for some use-cases it may
     // be important to preserve it, so we use LinkedHashMap
-    strMap = new LinkedHashMap<>(multi.length / 2);
-    for (int i = 0; i < multi.length; i += 2) {
+    strMap = new LinkedHashMap<>(length / 2);
+    for (int i = 0; i < length; i += 2) {
       // Response.toString() triggers the conversion of the response to UTF-8 String
-      strMap.put(multi[i].toString(), multi[i + 1]);
+      strMap.put(element(i).toString(), element(i + 1));
     }
   }
 
@@ -281,10 +435,10 @@ public final class MultiType implements Multi {
     }
     // redis tracks the order of entries in hashes, for some use-cases it may
     // be important to preserve it, so we use LinkedHashMap
-    binMap = new LinkedHashMap<>(multi.length / 2);
-    for (int i = 0; i < multi.length; i += 2) {
+    binMap = new LinkedHashMap<>(length / 2);
+    for (int i = 0; i < length; i += 2) {
       // Response.toBuffer() triggers the conversion of the response to Buffer
-      binMap.put(multi[i].toBuffer(), multi[i + 1]);
+      binMap.put(element(i).toBuffer(), element(i + 1));
     }
   }
 
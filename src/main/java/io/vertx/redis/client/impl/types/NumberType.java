@@ -22,10 +22,33 @@ import java.math.BigInteger;
 
 public final class NumberType implements Response {
 
+  // small integer replies (counters, EXISTS, DEL, TTL, ...) are shared instead of allocated,
+  // like Integer.valueOf the upper bound of the cache can be set at JVM startup time, values
+  // are clamped between 127 (the cache always covers [-128, 127]) and 65536 (about 1.5MB of
+  // instances allocated upfront)
+  private static final int CACHE_LOW = -128;
+  private static final int CACHE_HIGH_MIN = 127;
+  private static final int CACHE_HIGH_MAX = 65536;
+  private static final int CACHE_HIGH = Math.min(CACHE_HIGH_MAX, Math.max(CACHE_HIGH_MIN, Integer.getInteger("io.vertx.redis.numberCache.high", 1024)));
+  private static final NumberType[] CACHE = new NumberType[CACHE_HIGH - CACHE_LOW + 1];
+
+  static {
+    for (int i = 0; i < CACHE.length; i++) {
+      CACHE[i] = new NumberType((long) (i + CACHE_LOW));
+    }
+  }
+
   public static NumberType create(Number value) {
     return new NumberType(value);
   }
 
+  public static NumberType create(long value) {
+    if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+      return CACHE[(int) value - CACHE_LOW];
+    }
+    return new NumberType(value);
+  }
+
   private final Number value;
 
   private NumberType(Number value) {
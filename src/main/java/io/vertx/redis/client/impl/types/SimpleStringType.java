@@ -21,6 +21,8 @@ import io.vertx.redis.client.ResponseType;
 public final class SimpleStringType implements Response {
 
   public static final SimpleStringType OK = new SimpleStringType("OK");
+  public static final SimpleStringType QUEUED = new SimpleStringType("QUEUED");
+  public static final SimpleStringType PONG = new SimpleStringType("PONG");
 
   public static SimpleStringType create(String message) {
     return new SimpleStringType(message);
@@ -2,6 +2,7 @@
 module io.vertx.redis.client {
   requires io.vertx.core;
   requires io.vertx.core.logging;
+  requires io.netty.buffer;
   requires static io.vertx.docgen;
   requires static io.vertx.codegen.api;
   requires static io.vertx.codegen.json;
@@ -16,8 +16,12 @@
 package io.vertx.tests.redis.client;
 
 import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.OpenOptions;
 import io.vertx.core.internal.pool.PoolConnector;
+import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.RunTestOnContext;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -27,6 +31,8 @@ import io.vertx.redis.client.RedisAPI;
 import io.vertx.redis.client.RedisConnection;
 import io.vertx.redis.client.RedisOptions;
 import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import io.vertx.redis.client.ResponseType;
 import io.vertx.redis.client.impl.PooledRedisConnection;
 import io.vertx.redis.client.impl.RedisConnectionInternal;
 import io.vertx.redis.client.impl.RedisStandaloneConnection;
@@ -39,7 +45,10 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.io.File;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -2956,4 +2965,228 @@ public class RedisClientTest {
         test.completeNow();
       }));
   }
+
+  @Test
+  public void testStreamedArgument(VertxTestContext test) throws Exception {
+    final String key = randomKey();
+    final byte[] value = new byte[1024 * 1024];
+    Arrays.fill(value, (byte) 'x');
+    final File file = File.createTempFile("redis", ".bin");
+    file.deleteOnExit();
+    Files.write(file.toPath(), value);
+
+    client.connect().onComplete(test.succeeding(conn -> context.vertx().fileSystem()
+      .open(file.getAbsolutePath(), new OpenOptions().setRead(true))
+      .onComplete(test.succeeding(upload -> {
+        conn.send(Request.cmd(Command.SET).arg(key).arg(upload, value.length))
+          .onComplete(test.succeeding(reply -> assertEquals("OK", reply.toString())));
+        // written once the upload ends
+        conn.send(Request.cmd(Command.STRLEN).arg(key))
+          .onComplete(test.succeeding(reply -> {
+            assertEquals(value.length, reply.toInteger());
+            test.completeNow();
+          }));
+      }))));
+  }
+
+  @Test
+  public void testStreamedArgumentTooShort(VertxTestContext test) throws Exception {
+    final String key = randomKey();
+    final byte[] value = new byte[1024];
+    final File file = File.createTempFile("redis", ".bin");
+    file.deleteOnExit();
+    Files.write(file.toPath(), value);
+
+    client.connect().onComplete(test.succeeding(conn -> context.vertx().fileSystem()
+      .open(file.getAbsolutePath(), new OpenOptions().setRead(true))
+      .onComplete(test.succeeding(upload -> {
+        final Checkpoint checkpoint = test.checkpoint(3);
+        // the bulk is truncated, so the connection is closed
+        conn.exceptionHandler(err -> checkpoint.flag());
+        conn.send(Request.cmd(Command.SET).arg(key).arg(upload, value.length + 1))
+          .onComplete(test.failing(err -> checkpoint.flag()));
+        // never written, as it would be part of the truncated bulk
+        conn.send(Request.cmd(Command.STRLEN).arg(key))
+          .onComplete(test.failing(err -> checkpoint.flag()));
+      }))));
+  }
+
+  @Test
+  public void testAutoPipelining(VertxTestContext test) {
+    final String key = randomKey();
+    final int count = 100;
+    final Redis pipelining = Redis.createClient(context.vertx(), new RedisOptions()
+      .setConnectionString(redisServer.getRedisUri())
+      .setAutoPipelining(true));
+
+    pipelining.connect().onComplete(test.succeeding(conn -> {
+      final List<Future<Response>> replies = new ArrayList<>(count);
+      // issued in the same event loop turn, written together
+      for (int i = 1; i <= count; i++) {
+        final long expected = i;
+        replies.add(conn.send(Request.cmd(Command.INCR).arg(key))
+          .onSuccess(reply -> test.verify(() -> assertEquals(expected, reply.toLong()))));
+      }
+      Future.all(replies)
+        .onComplete(test.succeeding(v -> pipelining.close()
+          .onComplete(test.succeedingThenComplete())));
+    }));
+  }
+
+  @Test
+  public void testParkedSends(VertxTestContext test) {
+    final String key = randomKey();
+    final int count = 100;
+    final Redis parking = Redis.createClient(context.vertx(), new RedisOptions()
+      .setConnectionString(redisServer.getRedisUri())
+      .setMaxWaitingHandlers(4)
+      .setMaxParkedSends(count));
+
+    parking.connect().onComplete(test.succeeding(conn -> {
+      final Promise<Void> drained = Promise.promise();
+      // called each time the connection has room again after being full
+      conn.drainHandler(v -> drained.tryComplete());
+      final List<Future<Response>> replies = new ArrayList<>(count);
+      // more sends than the waiting queue can hold, the others are parked instead of failing
+      for (int i = 1; i <= count; i++) {
+        final long expected = i;
+        replies.add(conn.send(Request.cmd(Command.INCR).arg(key))
+          .onSuccess(reply -> test.verify(() -> assertEquals(expected, reply.toLong()))));
+      }
+      test.verify(() -> assertTrue(conn.writeQueueFull()));
+      Future.all(Future.all(replies), drained.future())
+        .onComplete(test.succeeding(v -> parking.close()
+          .onComplete(test.succeedingThenComplete())));
+    }));
+  }
+
+  @Test
+  public void testAdaptiveInFlightLimit(VertxTestContext test) {
+    final String key = randomKey();
+    final Redis adaptive = Redis.createClient(context.vertx(), new RedisOptions()
+      .setConnectionString(redisServer.getRedisUri())
+      .setMaxWaitingHandlers(16)
+      .setAdaptiveInFlightLimit(true));
+
+    adaptive.connect().onComplete(test.succeeding(conn -> conn.send(Request.cmd(Command.PING))
+      .compose(pong -> conn.send(Request.cmd(Command.PING)))
+      .compose(pong -> {
+        // the server blocks on each of them in turn, the latency grows far above the one of the pings
+        final List<Future<Response>> blocked = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+          blocked.add(conn.send(Request.cmd(Command.BLPOP).arg(key).arg("0.05")));
+        }
+        return Future.all(blocked);
+      })
+      .onComplete(test.succeeding(blocked -> {
+        final List<Future<Response>> replies = new ArrayList<>();
+        // the limit went down from 16, no parking by default so the sends above it fail at once
+        for (int i = 0; i < 10; i++) {
+          replies.add(conn.send(Request.cmd(Command.PING)));
+        }
+        Future.join(replies).onComplete(ar -> {
+          test.verify(() -> {
+            assertTrue(replies.get(0).succeeded());
+            assertTrue(replies.get(9).failed());
+            assertTrue(replies.get(9).cause().getMessage().contains("waiting queue is full"));
+          });
+          adaptive.close().onComplete(test.succeedingThenComplete());
+        });
+      }))));
+  }
+
+  @Test
+  public void testAdaptiveInFlightLimitParkedSends(VertxTestContext test) {
+    final String key = randomKey();
+    final Redis adaptive = Redis.createClient(context.vertx(), new RedisOptions()
+      .setConnectionString(redisServer.getRedisUri())
+      .setMaxWaitingHandlers(16)
+      .setMaxParkedSends(16)
+      .setAdaptiveInFlightLimit(true));
+
+    adaptive.connect().onComplete(test.succeeding(conn -> conn.send(Request.cmd(Command.PING))
+      .compose(pong -> conn.send(Request.cmd(Command.PING)))
+      .compose(pong -> {
+        final List<Future<Response>> blocked = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+          blocked.add(conn.send(Request.cmd(Command.BLPOP).arg(key).arg("0.05")));
+        }
+        return Future.all(blocked);
+      })
+      .onComplete(test.succeeding(blocked -> {
+        final List<Future<Response>> replies = new ArrayList<>();
+        // the sends above the lowered limit are parked and written as the replies come in
+        for (int i = 0; i < 10; i++) {
+          replies.add(conn.send(Request.cmd(Command.PING)));
+        }
+        test.verify(() -> assertTrue(conn.writeQueueFull()));
+        Future.all(replies).onComplete(test.succeeding(v -> adaptive.close()
+          .onComplete(test.succeedingThenComplete())));
+      }))));
+  }
+
+  @Test
+  public void testBatchStream(VertxTestContext test) {
+    final String key = randomKey();
+
+    client.connect().onComplete(test.succeeding(conn -> conn.batchStream(Arrays.asList(
+        Request.cmd(Command.SET).arg(key).arg("value"),
+        Request.cmd(Command.INCR).arg(key),
+        Request.cmd(Command.GET).arg(key)))
+      .onComplete(test.succeeding(stream -> {
+        final List<Response> replies = new ArrayList<>();
+        stream
+          .handler(replies::add)
+          .endHandler(v -> test.verify(() -> {
+            assertEquals(3, replies.size());
+            assertEquals("OK", replies.get(0).toString());
+            // errors are delivered for their own command only
+            assertEquals(ResponseType.ERROR, replies.get(1).type());
+            assertEquals("value", replies.get(2).toString());
+            test.completeNow();
+          }));
+      }))));
+  }
+
+  @Test
+  public void testMultiplexedConnections(VertxTestContext test) {
+    final String key = randomKey();
+    final int count = 100;
+    final Redis multiplexed = Redis.createClient(context.vertx(), new RedisOptions()
+      .setConnectionString(redisServer.getRedisUri())
+      .setMaxPoolSize(2)
+      .setMultiplexedConnections(1));
+
+    final List<Future<Response>> replies = new ArrayList<>(count);
+    // far more concurrent commands than the pool could serve, they share a single connection
+    for (int i = 0; i < count; i++) {
+      replies.add(multiplexed.send(Request.cmd(Command.INCR).arg(key)));
+    }
+    Future.all(replies)
+      // a transaction completed in a batch is written at once on the shared connection
+      .compose(v -> multiplexed.batch(Arrays.asList(
+        Request.cmd(Command.MULTI),
+        Request.cmd(Command.INCR).arg(key),
+        Request.cmd(Command.EXEC))))
+      .onComplete(test.succeeding(batch -> test.verify(() -> {
+        assertEquals(count + 1, batch.get(2).get(0).toInteger());
+        multiplexed.close()
+          .onComplete(test.succeedingThenComplete());
+      })));
+  }
+
+  @Test
+  public void testWarmUp(VertxTestContext test) {
+    final Redis warm = Redis.createClient(context.vertx(), new RedisOptions()
+      .setConnectionString(redisServer.getRedisUri())
+      .setMinPoolIdle(2));
+
+    warm.warmUp()
+      .compose(v -> warm.send(Request.cmd(Command.PING)))
+      .onComplete(test.succeeding(reply -> test.verify(() -> {
+        assertEquals("PONG", reply.toString());
+        warm.close();
+        test.completeNow();
+      })));
+  }
 }
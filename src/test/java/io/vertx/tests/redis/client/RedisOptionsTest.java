@@ -11,6 +11,8 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RedisOptionsTest {
 
@@ -24,6 +26,14 @@ public class RedisOptionsTest {
     assertEquals(Collections.singletonList("redis://localhost:6379"), options.getEndpoints()); // default value
     assertEquals(1000L, options.getTopologyCacheTTL()); // default value
     assertEquals(1000L, options.getHashSlotCacheTTL()); // default value
+    assertFalse(options.isAutoPipelining()); // default value
+    assertEquals(65536, options.getAutoPipeliningMaxBytes()); // default value
+    assertEquals(0, options.getMaxParkedSends()); // default value
+    assertFalse(options.isAdaptiveInFlightLimit()); // default value
+    assertEquals(0, options.getMultiplexedConnections()); // default value
+    assertFalse(options.isPoolEventLoopAffinity()); // default value
+    assertEquals(0, options.getMinPoolIdle()); // default value
+    assertEquals(0L, options.getPoolMaxLifetimeJitter()); // default value
   }
 
   @Test
@@ -41,7 +51,14 @@ public class RedisOptionsTest {
       .setPassword("myPassword")
       .setTracingPolicy(TracingPolicy.ALWAYS)
       .setHashSlotCacheTTL(1234L) // overwritten by the next call
-      .setTopologyCacheTTL(2500L);
+      .setTopologyCacheTTL(2500L)
+      .setAutoPipelining(true)
+      .setAutoPipeliningDelay(50L)
+      .setMaxParkedSends(256)
+      .setMultiplexedConnections(2)
+      .setPoolEventLoopAffinity(true)
+      .setMinPoolIdle(2)
+      .setPoolMaxLifetimeJitter(500L);
 
     RedisOptions copy = new RedisOptions(original);
 
@@ -54,6 +71,13 @@ public class RedisOptionsTest {
     assertEquals(TracingPolicy.ALWAYS, copy.getTracingPolicy());
     assertEquals(2500L, copy.getTopologyCacheTTL());
     assertEquals(2500L, copy.getHashSlotCacheTTL());
+    assertTrue(copy.isAutoPipelining());
+    assertEquals(50L, copy.getAutoPipeliningDelay());
+    assertEquals(256, copy.getMaxParkedSends());
+    assertEquals(2, copy.getMultiplexedConnections());
+    assertTrue(copy.isPoolEventLoopAffinity());
+    assertEquals(2, copy.getMinPoolIdle());
+    assertEquals(500L, copy.getPoolMaxLifetimeJitter());
   }
 
   @Test
@@ -70,7 +94,11 @@ public class RedisOptionsTest {
       .setPassword("myPassword")
       .setTracingPolicy(TracingPolicy.ALWAYS)
       .setHashSlotCacheTTL(2468L) // overwritten by the next call
-      .setTopologyCacheTTL(3333L);
+      .setTopologyCacheTTL(3333L)
+      .setAutoPipelining(true)
+      .setAutoPipeliningDelay(100L)
+      .setMaxParkedSends(512)
+      .setMultiplexedConnections(4);
 
     RedisOptions copy = new RedisOptions(original.toJson());
 
@@ -83,6 +111,10 @@ public class RedisOptionsTest {
     assertEquals(TracingPolicy.ALWAYS, copy.getTracingPolicy());
     assertEquals(3333L, copy.getTopologyCacheTTL());
     assertEquals(3333L, copy.getHashSlotCacheTTL());
+    assertTrue(copy.isAutoPipelining());
+    assertEquals(100L, copy.getAutoPipeliningDelay());
+    assertEquals(512, copy.getMaxParkedSends());
+    assertEquals(4, copy.getMultiplexedConnections());
   }
 
 }
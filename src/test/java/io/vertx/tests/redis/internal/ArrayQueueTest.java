@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class ArrayQueueTest {
 
@@ -37,4 +39,42 @@ public class ArrayQueueTest {
     arrayQueue.offer("a");
     assertNotNull(arrayQueue.poll());
   }
+
+  @Test
+  public void testGrowOnDemand() {
+    ArrayQueue arrayQueue = new ArrayQueue(100);
+    // wrap around before growing
+    for (int i = 0; i < 10; i++) {
+      arrayQueue.offer(-1);
+      arrayQueue.poll();
+    }
+    for (int i = 0; i < 100; i++) {
+      arrayQueue.offer(i);
+    }
+    assertEquals(0, arrayQueue.freeSlots());
+    assertThrows(IndexOutOfBoundsException.class, () -> arrayQueue.offer(100));
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, (int) arrayQueue.poll());
+    }
+    assertNull(arrayQueue.poll());
+    assertEquals(100, arrayQueue.freeSlots());
+  }
+
+  @Test
+  public void testMultiSlotElement() {
+    ArrayQueue arrayQueue = new ArrayQueue(10);
+    arrayQueue.offer("batch", 8);
+    arrayQueue.offer("single");
+    assertEquals(1, arrayQueue.freeSlots());
+    assertThrows(IndexOutOfBoundsException.class, () -> arrayQueue.offer("batch", 2));
+    // the slots are released one by one, the element stays until polled
+    for (int i = 0; i < 7; i++) {
+      arrayQueue.release();
+    }
+    assertEquals(8, arrayQueue.freeSlots());
+    assertEquals("batch", arrayQueue.poll());
+    assertEquals(9, arrayQueue.freeSlots());
+    assertEquals("single", arrayQueue.poll());
+    assertEquals(10, arrayQueue.freeSlots());
+  }
 }
@@ -5,12 +5,17 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.internal.buffer.BufferInternal;
 import io.vertx.redis.client.Command;
 import io.vertx.redis.client.Request;
+import io.vertx.redis.client.RequestTemplate;
 import io.vertx.redis.client.impl.RequestImpl;
 import org.junit.jupiter.api.Test;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 public class BufferTest {
 
   private static final int iterations = 50000;
@@ -140,4 +145,72 @@ public class BufferTest {
     }
     System.out.println("---");
   }
+
+  @Test
+  public void testEncodedLength() {
+    Request request = Request.cmd(Command.SET)
+      .arg("")
+      .arg(-1234567890L)
+      .arg(7)
+      .arg("caf\u00e9")
+      .arg(Buffer.buffer(new byte[300]));
+
+    Buffer encoded = ((RequestImpl) request).encode();
+    assertEquals(((RequestImpl) request).encodedLength(), encoded.length());
+    assertEquals("*6\r\n$3\r\nSET\r\n$0\r\n\r\n$11\r\n-1234567890\r\n$1\r\n7\r\n$5\r\ncaf\u00e9\r\n$300\r\n",
+      encoded.getString(0, encoded.length() - 302, "UTF-8"));
+  }
+
+  @Test
+  public void testBufferArgIsCopied() {
+    Buffer value = Buffer.buffer("value");
+    Request request = Request.cmd(Command.SET).arg(Buffer.buffer("key")).arg(value);
+    Request varargs = Request.cmd(Command.SET, Buffer.buffer("key"), value);
+
+    // the caller reuses the buffer once the argument is added
+    value.setString(0, "VALUE");
+
+    assertEquals("*3\r\n$3\r\nSET\r\n$3\r\nkey\r\n$5\r\nvalue\r\n", request.toString());
+    assertEquals("*3\r\n$3\r\nSET\r\n$3\r\nkey\r\n$5\r\nvalue\r\n", varargs.toString());
+  }
+
+  @Test
+  public void testBufferArgByReferenceIsNotCopied() {
+    Buffer value = Buffer.buffer(new byte[4096]);
+    Request request = Request.cmd(Command.SET).arg(Buffer.buffer("key")).argByReference(value);
+
+    // arguments are only copied when inspected
+    assertEquals("key", new String(((RequestImpl) request).getArgs().get(0), StandardCharsets.UTF_8));
+    assertEquals(4096, ((RequestImpl) request).getArgs().get(1).length);
+    // and only once
+    assertSame(((RequestImpl) request).getArgs().get(1), ((RequestImpl) request).getArgs().get(1));
+
+    Buffer encoded = ((RequestImpl) request).encode();
+    assertEquals(((RequestImpl) request).encodedLength(), encoded.length());
+    assertEquals(value, encoded.getBuffer(encoded.length() - 4098, encoded.length() - 2));
+  }
+
+  @Test
+  public void testStringArgEncoding() {
+    String value = "a\u00e9\u20ac\ud83d\ude00";
+    Buffer encoded = ((RequestImpl) Request.cmd(Command.GET).arg(value)).encode();
+    Buffer expected = ((RequestImpl) Request.cmd(Command.GET).arg(value.getBytes(StandardCharsets.UTF_8))).encode();
+
+    assertEquals(expected, encoded);
+    assertEquals(value, new String(((RequestImpl) Request.cmd(Command.GET, value)).getArgs().get(0), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testRequestTemplate() {
+    RequestTemplate template = RequestTemplate.cmd(Command.HINCRBY, RequestTemplate.VAR, RequestTemplate.VAR, 1);
+    RequestImpl request = (RequestImpl) template.request("counters", Buffer.buffer("visits"));
+    RequestImpl expected = (RequestImpl) Request.cmd(Command.HINCRBY, "counters", "visits", 1);
+
+    assertEquals(expected.encode(), request.encode());
+    assertEquals(expected.encodedLength(), request.encodedLength());
+    assertEquals("counters", new String(request.keys().get(0), StandardCharsets.UTF_8));
+    assertEquals(expected.readOnly(), request.readOnly());
+    // the encoding of a template request is fixed
+    assertThrows(IllegalStateException.class, () -> request.arg("extra"));
+  }
 }
@@ -1,7 +1,13 @@
 package io.vertx.tests.redis.internal;
 
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.ThreadingModel;
 import io.vertx.core.Vertx;
+import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.internal.pool.ConnectionPool;
 import io.vertx.core.internal.resource.ResourceManager;
 import io.vertx.junit5.VertxExtension;
@@ -28,6 +34,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import java.lang.reflect.Field;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 @ExtendWith(VertxExtension.class)
 @Testcontainers
@@ -156,6 +163,133 @@ public class ConnectionRecyclingTest {
       }));
   }
 
+  @Test
+  public void testMaximumLifetimeRotation(VertxTestContext test) {
+    RedisOptions options = new RedisOptions()
+      .setConnectionString(redis.getRedisUri())
+      .setMaxPoolSize(2)
+      .setPoolCleanerInterval(100)
+      .setPoolMaxLifetime(2000)
+      .setPoolMaxLifetimeJitter(500);
+    Redis client = Redis.createClient(vertx, options);
+    // counts the connections accepted by the server
+    Redis observer = Redis.createClient(vertx, redis.getRedisUri());
+    Promise<Long> connectionsBefore = Promise.promise();
+
+    // a single event loop, the replacement is only handed to callers of the event loop it runs on
+    Context context = vertx.getOrCreateContext();
+    context.runOnContext(v -> client.connect()
+      .compose(conn -> {
+        assertConnectionPool(test, client, 1);
+        return conn.close();
+      }).compose(ignored -> {
+        // once rotated, but before the replacement reaches its own maximum lifetime
+        return vertx.timer(2500);
+      }).compose(ignored -> {
+        // the old connection is evicted, its replacement is handed to the pool on demand
+        assertConnectionPool(test, client, 0);
+        return connectionsReceived(observer);
+      }).compose(before -> {
+        connectionsBefore.complete(before);
+        return client.connect();
+      }).compose(conn -> {
+        assertConnectionPool(test, client, 1);
+        return conn.send(Request.cmd(Command.PING))
+          .compose(reply -> conn.close());
+      }).compose(ignored -> connectionsReceived(observer))
+      .onComplete(test.succeeding(after -> {
+        test.verify(() -> {
+          // the replacement was connected before, no handshake when it is used
+          assertEquals(connectionsBefore.future().result(), after);
+        });
+        observer.close();
+        test.completeNow();
+      })));
+  }
+
+  private static Future<Long> connectionsReceived(Redis client) {
+    return client.send(Request.cmd(Command.INFO).arg("stats"))
+      .map(info -> {
+        String str = info.toString();
+        int start = str.indexOf("total_connections_received:") + "total_connections_received:".length();
+        int end = str.indexOf("\r\n", start);
+        return Long.parseLong(str.substring(start, end));
+      });
+  }
+
+  @Test
+  public void testMinIdleWithEventLoopAffinity(VertxTestContext test) {
+    RedisOptions options = new RedisOptions()
+      .setConnectionString(redis.getRedisUri())
+      .setMaxPoolSize(6)
+      .setPoolCleanerInterval(100)
+      .setMinPoolIdle(3)
+      .setPoolEventLoopAffinity(true);
+    Redis client = Redis.createClient(vertx, options);
+
+    client.warmUp()
+      .compose(ignored -> {
+        assertConnectionPool(test, client, 3);
+        return vertx.timer(500);
+      }).compose(ignored -> {
+        // the cleaner only opens the missing connections, it does not fill the pool
+        assertConnectionPool(test, client, 3);
+        return client.send(Request.cmd(Command.PING));
+      }).onComplete(test.succeeding(ignored -> {
+        client.close();
+        test.completeNow();
+      }));
+  }
+
+  @Test
+  public void testEventLoopAffinity(VertxTestContext test) {
+    RedisOptions options = new RedisOptions()
+      .setConnectionString(redis.getRedisUri())
+      .setMaxPoolSize(2)
+      .setPoolEventLoopAffinity(true);
+    Redis client = Redis.createClient(vertx, options);
+
+    EventLoopGroup eventLoops = ((VertxInternal) vertx).nettyEventLoopGroup();
+    Context first = eventLoopContext(eventLoops.next());
+    Context second = eventLoopContext(eventLoops.next());
+
+    clientId(first, client)
+      .compose(firstId -> clientId(second, client)
+        .compose(secondId -> clientId(first, client)
+          .map(againId -> {
+            test.verify(() -> {
+              // the idle connection of the other event loop is not used while the pool has room
+              assertNotEquals(firstId, secondId);
+              assertEquals(firstId, againId);
+            });
+            assertConnectionPool(test, client, 2);
+            return null;
+          })))
+      .onComplete(test.succeeding(ignored -> {
+        client.close();
+        test.completeNow();
+      }));
+  }
+
+  private Context eventLoopContext(EventLoop eventLoop) {
+    return ((VertxInternal) vertx).contextBuilder()
+      .withThreadingModel(ThreadingModel.EVENT_LOOP)
+      .withEventLoop(eventLoop)
+      .build();
+  }
+
+  /**
+   * Leases a connection from the given context and returns the id the server gave to it.
+   */
+  private Future<Long> clientId(Context context, Redis client) {
+    Promise<Long> promise = Promise.promise();
+    context.runOnContext(v -> client.connect()
+      .compose(conn -> conn.send(Request.cmd(Command.CLIENT).arg("ID"))
+        .compose(id -> conn.close().map(id.toLong())))
+      .onComplete(promise));
+    return promise.future();
+  }
+
   private void useConnectionForLongTime(RedisConnection conn, long endTime) {
     if (endTime < System.currentTimeMillis()) {
       conn.close();
@@ -5,20 +5,32 @@ import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.RunTestOnContext;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
+import io.vertx.redis.client.ReplyDecoder;
 import io.vertx.redis.client.Response;
+import io.vertx.redis.client.ResponseType;
 import io.vertx.redis.client.impl.ParserHandler;
 import io.vertx.redis.client.impl.RESPParser;
 import io.vertx.redis.client.impl.types.BulkType;
 import io.vertx.redis.client.impl.types.MultiType;
+import io.vertx.redis.client.impl.types.SimpleStringType;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import java.math.BigInteger;
+import java.nio.ReadOnlyBufferException;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(VertxExtension.class)
 public class ReplyParserTest {
@@ -128,6 +140,485 @@ public class ReplyParserTest {
     parser.handle(Buffer.buffer("$6\r\nfoobar\r\n"));
   }
 
+  @Test
+  public void testZeroCopyBulkInChunks(VertxTestContext test) {
+    final RESPParser parser = new RESPParser(new ParserHandler() {
+      @Override
+      public void handle(Response response) {
+        test.verify(() -> {
+          assertEquals("foobar", response.toString());
+          assertEquals(Buffer.buffer("foobar"), response.toBuffer());
+        });
+        test.completeNow();
+      }
+
+      @Override
+      public void fail(Throwable t) {
+        test.failNow(t);
+      }
+    }, 16, true);
+
+    parser.handle(Buffer.buffer("$6\r\nfoo"));
+    parser.handle(Buffer.buffer("bar\r\n"));
+  }
+
+  @Test
+  public void testBulkAcrossManyChunks(VertxTestContext test) {
+    testBulkAcrossManyChunks(test, false);
+  }
+
+  @Test
+  public void testZeroCopyBulkAcrossManyChunks(VertxTestContext test) {
+    testBulkAcrossManyChunks(test, true);
+  }
+
+  private void testBulkAcrossManyChunks(VertxTestContext test, boolean zeroCopy) {
+    final StringBuilder payload = new StringBuilder();
+    for (int i = 0; i < 64 * 1024; i++) {
+      payload.append((char) ('a' + i % 26));
+    }
+    final Buffer wire = Buffer.buffer("$" + payload.length() + "\r\n" + payload + "\r\n+OK\r\n");
+
+    Checkpoint checkpoint = test.checkpoint(2);
+    final RESPParser parser = new RESPParser(new ParserHandler() {
+      private int count = 0;
+
+      @Override
+      public void handle(Response response) {
+        test.verify(() -> {
+          if (count++ == 0) {
+            assertEquals(payload.toString(), response.toString());
+            if (zeroCopy) {
+              // a view over the received data, which may hold other replies
+              assertThrows(ReadOnlyBufferException.class, () -> response.toBuffer().setByte(0, (byte) 'z'));
+            }
+          } else {
+            assertEquals("OK", response.toString());
+          }
+        });
+        checkpoint.flag();
+      }
+
+      @Override
+      public void fail(Throwable t) {
+        test.failNow(t);
+      }
+    }, 16, zeroCopy);
+
+    for (int i = 0; i < wire.length(); i += 1000) {
+      parser.handle(wire.getBuffer(i, Math.min(i + 1000, wire.length())));
+    }
+  }
+
+  @Test
+  public void testStreamedBulk(VertxTestContext test) {
+    final Buffer received = Buffer.buffer();
+    Checkpoint checkpoint = test.checkpoint(2);
+
+    final RESPParser parser = new RESPParser(new ParserHandler() {
+      @Override
+      public boolean bulkStart(int length) {
+        test.verify(() -> assertEquals(6, length));
+        return true;
+      }
+
+      @Override
+      public void bulkChunk(Buffer chunk) {
+        received.appendBuffer(chunk);
+      }
+
+      @Override
+      public void bulkEnd() {
+        test.verify(() -> assertEquals("foobar", received.toString()));
+        checkpoint.flag();
+      }
+
+      @Override
+      public void handle(Response response) {
+        // the bulk is never aggregated, only the next reply is handled
+        test.verify(() -> assertEquals("OK", response.toString()));
+        checkpoint.flag();
+      }
+
+      @Override
+      public void fail(Throwable t) {
+        test.failNow(t);
+      }
+    }, 16);
+
+    parser.handle(Buffer.buffer("$6\r\nfo"));
+    parser.handle(Buffer.buffer("oba"));
+    parser.handle(Buffer.buffer("r\r"));
+    parser.handle(Buffer.buffer("\n+OK\r\n"));
+  }
+
+  @Test
+  public void testStreamedMulti(VertxTestContext test) {
+    final List<Response> elements = new ArrayList<>();
+    Checkpoint checkpoint = test.checkpoint(2);
+
+    final RESPParser parser = new RESPParser(new ParserHandler() {
+      @Override
+      public boolean multiStart(long length, boolean map) {
+        test.verify(() -> assertEquals(3, length));
+        return true;
+      }
+
+      @Override
+      public void multiElement(Response element) {
+        elements.add(element);
+      }
+
+      @Override
+      public void multiEnd() {
+        test.verify(() -> {
+          assertEquals(3, elements.size());
+          assertEquals("foo", elements.get(0).toString());
+          assertNull(elements.get(1));
+          // nested aggregates are delivered as a single element
+          assertEquals(2, elements.get(2).size());
+          assertEquals(2, elements.get(2).get(1).toInteger());
+        });
+        checkpoint.flag();
+      }
+
+      @Override
+      public void handle(Response response) {
+        test.verify(() -> assertEquals("OK", response.toString()));
+        checkpoint.flag();
+      }
+
+      @Override
+      public void fail(Throwable t) {
+        test.failNow(t);
+      }
+    }, 16);
+
+    parser.handle(Buffer.buffer("*3\r\n$3\r\nfoo\r\n$-1\r\n*2\r\n:1\r\n:"));
+    parser.handle(Buffer.buffer("2\r\n+OK\r\n"));
+  }
+
+  @Test
+  public void testLazyMap(VertxTestContext test) {
+    final RESPParser parser = new RESPParser(new ParserHandler() {
+      @Override
+      public void handle(Response response) {
+        test.verify(() -> {
+          assertEquals(2, response.size());
+          assertEquals("bar", response.get("foo").toString());
+          assertEquals(2, response.get("two").toInteger());
+          assertNull(response.get("missing"));
+          assertEquals("{foo: bar, two: 2}", response.toString());
+        });
+        test.completeNow();
+      }
+
+      @Override
+      public void fail(Throwable t) {
+        test.failNow(t);
+      }
+    }, 16, false, true);
+
+    parser.handle(Buffer.buffer("%2\r\n$3\r\nfoo\r\n$3\r\nb"));
+    parser.handle(Buffer.buffer("ar\r\n+two\r\n:2\r\n"));
+  }
+
+  @Test
+  public void testLazyMultiWithNestedMulti(VertxTestContext test) {
+    final RESPParser parser = new RESPParser(new ParserHandler() {
+      @Override
+      public void handle(Response response) {
+        test.verify(() -> {
+          assertEquals(3, response.size());
+          assertEquals("foo", response.get(0).toString());
+          assertNull(response.get(1));
+          assertEquals(2, response.get(2).get(1).toInteger());
+        });
+        test.completeNow();
+      }
+
+      @Override
+      public void fail(Throwable t) {
+        test.failNow(t);
+      }
+    }, 16, false, true);
+
+    parser.handle(Buffer.buffer("*3\r\n$3\r\nfoo\r\n_\r\n*2\r\n:1\r\n:2\r\n"));
+  }
+
+  @Test
+  public void testMapDuplicateKeys(VertxTestContext test) {
+    final List<Response> replies = new ArrayList<>();
+    final RESPParser parser = new RESPParser(new ParserHandler() {
+      @Override
+      public void handle(Response response) {
+        replies.add(response);
+      }
+
+      @Override
+      public void fail(Throwable t) {
+        test.failNow(t);
+      }
+    }, 16);
+
+    // the last of duplicate keys wins, either looked up linearly or through the index of a large map
+    parser.handle(Buffer.buffer("%3\r\n$1\r\na\r\n:1\r\n$1\r\nb\r\n:2\r\n$1\r\na\r\n:3\r\n"));
+    final StringBuilder large = new StringBuilder("%20\r\n");
+    for (int i = 0; i < 19; i++) {
+      large.append("$2\r\nk").append((char) ('a' + i)).append("\r\n:").append(i).append("\r\n");
+    }
+    large.append("$2\r\nka\r\n:100\r\n");
+    parser.handle(Buffer.buffer(large.toString()));
+
+    test.verify(() -> {
+      assertEquals(2, replies.size());
+      assertEquals(3, replies.get(0).get("a").toInteger());
+      assertEquals(2, replies.get(0).get("b").toInteger());
+      assertEquals(100, replies.get(1).get("ka").toInteger());
+      assertEquals(100, replies.get(1).get(Buffer.buffer("ka")).toInteger());
+      assertEquals(1, replies.get(1).get("kb").toInteger());
+      assertEquals(19, replies.get(1).getKeys().size());
+    });
+    test.completeNow();
+  }
+
+  @Test
+  public void testLazyMultiOfEachType(VertxTestContext test) {
+    final RESPParser parser = new RESPParser(new ParserHandler() {
+      @Override
+      public void handle(Response response) {
+        test.verify(() -> {
+          assertEquals(8, response.size());
+          assertEquals(Long.MIN_VALUE, response.get(0).toLong());
+          assertEquals(1.5, response.get(1).toDouble());
+          assertEquals(Double.NEGATIVE_INFINITY, response.get(2).toDouble());
+          assertTrue(response.get(3).toBoolean());
+          assertEquals(new BigInteger("12345678901234567890"), response.get(4).toBigInteger());
+          assertEquals(ResponseType.ERROR, response.get(5).type());
+          assertEquals("abcd", response.get(6).toString());
+          assertEquals("txt", response.get(6).format());
+          assertNull(response.get(7));
+        });
+        test.completeNow();
+      }
+
+      @Override
+      public void fail(Throwable t) {
+        test.failNow(t);
+      }
+    }, 16, false, true);
+
+    parser.handle(Buffer.buffer("*8\r\n:-9223372036854775808\r\n,1.5\r\n,-inf\r\n#t\r\n(12345678901234567890\r\n"));
+    parser.handle(Buffer.buffer("-ERR failed\r\n=8\r\ntxt:abcd\r\n$-1\r\n"));
+  }
+
+  @Test
+  public void testSharedReplies(VertxTestContext test) {
+    final List<Response> replies = new ArrayList<>();
+
+    final RESPParser parser = new RESPParser(new ParserHandler() {
+      @Override
+      public void handle(Response response) {
+        replies.add(response);
+      }
+
+      @Override
+      public void fail(Throwable t) {
+        test.failNow(t);
+      }
+    }, 16);
+
+    parser.handle(Buffer.buffer(":1\r\n:1\r\n:-9223372036854775808\r\n:123456789\r\n+OK\r\n+QUEUED\r\n+QUEUE\r\n"));
+
+    test.verify(() -> {
+      assertEquals(7, replies.size());
+      assertSame(replies.get(0), replies.get(1));
+      assertEquals(1L, replies.get(0).toLong());
+      assertEquals(Long.MIN_VALUE, replies.get(2).toLong());
+      assertEquals(123456789L, replies.get(3).toLong());
+      assertSame(SimpleStringType.OK, replies.get(4));
+      assertSame(SimpleStringType.QUEUED, replies.get(5));
+      assertEquals("QUEUE", replies.get(6).toString());
+    });
+    test.completeNow();
+  }
+
+  @Test
+  public void testPrimitiveArrays(VertxTestContext test) {
+    final List<Response> replies = new ArrayList<>();
+
+    final RESPParser parser = new RESPParser(new ParserHandler() {
+      @Override
+      public void handle(Response response) {
+        replies.add(response);
+      }
+
+      @Override
+      public void fail(Throwable t) {
+        test.failNow(t);
+      }
+    }, 16);
+
+    parser.handle(Buffer.buffer("*3\r\n:1\r\n:0\r\n:300000\r\n*2\r\n,1.5\r\n,inf\r\n*3\r\n:1\r\n$1\r\n2\r\n_\r\n"));
+
+    test.verify(() -> {
+      assertEquals(3, replies.size());
+
+      assertArrayEquals(new long[]{1L, 0L, 300000L}, replies.get(0).toLongArray());
+      assertArrayEquals(new boolean[]{true, false, false}, replies.get(0).toBooleanArray());
+      assertEquals(300000L, replies.get(0).get(2).toLong());
+      assertEquals("[1, 0, 300000]", replies.get(0).toString());
+
+      assertArrayEquals(new double[]{1.5, Double.POSITIVE_INFINITY}, replies.get(1).toDoubleArray());
+
+      // the returned arrays are copies
+      replies.get(0).toLongArray()[2] = 7L;
+      assertEquals(300000L, replies.get(0).get(2).toLong());
+      assertArrayEquals(new long[]{1L, 0L, 300000L}, replies.get(0).toLongArray());
+      replies.get(1).toDoubleArray()[0] = 7.0;
+      assertEquals(1.5, replies.get(1).get(0).toDouble(), 0.0);
+
+      // not homogeneous
+      assertEquals(1L, replies.get(2).get(0).toLong());
+      assertArrayEquals(new long[]{1L, 2L, 0L}, replies.get(2).toLongArray());
+      assertArrayEquals(new double[]{1.0, 2.0, Double.NaN}, replies.get(2).toDoubleArray());
+    });
+    test.completeNow();
+  }
+
+  @Test
+  public void testMapLookup(VertxTestContext test) {
+    final StringBuilder wire = new StringBuilder("%21\r\n");
+    for (int i = 0; i < 20; i++) {
+      wire.append("$5\r\nkey").append(i < 10 ? "0" : "").append(i).append("\r\n:").append(i).append("\r\n");
+    }
+    wire.append("$4\r\nclé\r\n+OK\r\n");
+
+    final RESPParser parser = new RESPParser(new ParserHandler() {
+      @Override
+      public void handle(Response response) {
+        test.verify(() -> {
+          assertEquals(42, response.size());
+          assertEquals(0, response.get("key00").toInteger());
+          assertEquals(17, response.get("key17").toInteger());
+          assertEquals(19, response.get(Buffer.buffer("key19")).toInteger());
+          assertEquals("OK", response.get("clé").toString());
+          assertTrue(response.containsKey("key05"));
+          assertFalse(response.containsKey("key5"));
+          assertNull(response.get("key20"));
+          assertNull(response.get(Buffer.buffer("key")));
+        });
+        test.completeNow();
+      }
+
+      @Override
+      public void fail(Throwable t) {
+        test.failNow(t);
+      }
+    }, 16);
+
+    parser.handle(Buffer.buffer(wire.toString()));
+  }
+
+  @Test
+  public void testDecoder(VertxTestContext test) {
+    final StringBuilder events = new StringBuilder();
+    final ReplyDecoder<String> decoder = new ReplyDecoder<>() {
+      @Override
+      public void beginArray(int length) {
+        events.append('[').append(length).append(' ');
+      }
+
+      @Override
+      public void beginMap(int length) {
+        events.append('{').append(length).append(' ');
+      }
+
+      @Override
+      public void endAggregate() {
+        events.append("end ");
+      }
+
+      @Override
+      public void bulk(Buffer value) {
+        events.append(value).append(' ');
+      }
+
+      @Override
+      public void simpleString(String value) {
+        events.append('+').append(value).append(' ');
+      }
+
+      @Override
+      public void error(String value) {
+        events.append('-').append(value).append(' ');
+      }
+
+      @Override
+      public void integer(long value) {
+        events.append(value).append(' ');
+      }
+
+      @Override
+      public void decimal(double value) {
+        events.append(value).append(' ');
+      }
+
+      @Override
+      public void bigInteger(BigInteger value) {
+        events.append(value).append(' ');
+      }
+
+      @Override
+      public void bool(boolean value) {
+        events.append(value).append(' ');
+      }
+
+      @Override
+      public void nil() {
+        events.append("nil ");
+      }
+
+      @Override
+      public String result() {
+        return events.toString().trim();
+      }
+    };
+
+    Checkpoint checkpoint = test.checkpoint(2);
+    final RESPParser parser = new RESPParser(new ParserHandler() {
+      private boolean decoded;
+
+      @Override
+      public ReplyDecoder<?> decodeStart() {
+        // only the first reply is decoded
+        return decoded ? null : decoder;
+      }
+
+      @Override
+      public void decodeEnd() {
+        decoded = true;
+        // the attribute is not part of the reply
+        test.verify(() -> assertEquals("{2 foo [3 1 nil [0 end end +bar 1.5 end", decoder.result()));
+        checkpoint.flag();
+      }
+
+      @Override
+      public void handle(Response response) {
+        test.verify(() -> assertEquals("OK", response.toString()));
+        checkpoint.flag();
+      }
+
+      @Override
+      public void fail(Throwable t) {
+        test.failNow(t);
+      }
+    }, 16);
+
+    parser.handle(Buffer.buffer("%2\r\n$3\r\nfoo\r\n*3\r\n:1\r\n_\r\n|1\r\n+key\r\n+value\r\n*0\r\n+bar\r\n,1."));
+    parser.handle(Buffer.buffer("5\r\n+OK\r\n"));
+  }
+
   @Test
   public void testEmptyBulk(VertxTestContext test) {
     final RESPParser parser = new RESPParser(new ParserHandler() {